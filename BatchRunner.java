@@ -0,0 +1,472 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+// Headless entry point that replays a workload file through a scheduler and prints the metrics,
+// so large traces can be run in CI without a display. The GUI entry point stays MainMenu.
+//
+// Usage: java BatchRunner --algorithm <rr|sjf|srt|priority|mlfq|cfs> [options] <workload-file>
+public class BatchRunner {
+
+    public static void main(String[] args) {
+        String algorithm = null;
+        int timeQuantum = 0;
+        int agingInterval = 0;
+        int[] levelQuanta = null;
+        int boostInterval = 0;
+        int targetLatency = CompletelyFairScheduler.DEFAULT_TARGET_LATENCY;
+        int minGranularity = CompletelyFairScheduler.DEFAULT_MIN_GRANULARITY;
+        String sweep = null;
+        boolean printGantt = false;
+        String ganttFile = null;
+        boolean streaming = false;
+        int cores = 1;
+        String queues = "global";
+        String convertTo = null;
+        int[] checkpointTimes = null;
+        String checkpointDir = ".";
+        String resume = null;
+        String file = null;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-a":
+                    case "--algorithm":
+                        algorithm = value(args, ++i);
+                        break;
+                    case "-q":
+                    case "--quantum":
+                        timeQuantum = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--aging":
+                        agingInterval = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--levels":
+                        levelQuanta = parseQuanta(value(args, ++i));
+                        break;
+                    case "--boost":
+                        boostInterval = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--latency":
+                        targetLatency = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--granularity":
+                        minGranularity = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--sweep":
+                        sweep = value(args, ++i);
+                        break;
+                    case "--gantt":
+                        printGantt = true;
+                        break;
+                    case "--gantt-out":
+                        ganttFile = value(args, ++i);
+                        break;
+                    case "--stream":
+                        streaming = true;
+                        break;
+                    case "--cores":
+                        cores = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--queues":
+                        queues = value(args, ++i);
+                        break;
+                    case "--convert":
+                        convertTo = value(args, ++i);
+                        break;
+                    case "--checkpoint-at":
+                        checkpointTimes = parseQuanta(value(args, ++i));
+                        break;
+                    case "--checkpoint-dir":
+                        checkpointDir = value(args, ++i);
+                        break;
+                    case "--resume":
+                        resume = value(args, ++i);
+                        break;
+                    case "-h":
+                    case "--help":
+                        printUsage(System.out);
+                        return;
+                    default:
+                        if (args[i].startsWith("-") || file != null) {
+                            throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                        }
+                        file = args[i];
+                }
+            }
+            if (file == null) {
+                throw new IllegalArgumentException("No workload file given");
+            }
+            if (convertTo != null) {
+                long start = System.nanoTime();
+                long records = BinaryWorkloadFile.convert(Paths.get(file), Paths.get(convertTo));
+                System.out.printf("Converted %d processes to %s in %.1f ms%n", records, convertTo, millisSince(start));
+                return;
+            }
+            if (algorithm == null && sweep == null) {
+                throw new IllegalArgumentException("No algorithm given");
+            }
+
+            if (checkpointTimes != null && (resume != null || sweep != null)) {
+                throw new IllegalArgumentException("--checkpoint-at cannot be combined with --resume or --sweep");
+            }
+            if ((checkpointTimes != null || resume != null) && (streaming || cores != 1 || sweep == null && !isRoundRobin(algorithm))) {
+                throw new IllegalArgumentException("Checkpoints are only available for single-core rr runs and sweeps");
+            }
+            SimulationCheckpoint checkpoint = resume == null ? null : SimulationCheckpoint.read(Paths.get(resume));
+
+            if (streaming) {
+                runStreaming(Paths.get(file), algorithm, timeQuantum, printGantt, ganttFile);
+                return;
+            }
+
+            if (cores != 1) {
+                MultiCoreScheduler multiCore = createMultiCoreScheduler(algorithm, timeQuantum, cores, queues);
+                long loadStart = System.nanoTime();
+                Workload workload = loadWorkload(Paths.get(file));
+                System.out.printf("Loaded %d processes from %s in %.1f ms%n", workload.size(), file, millisSince(loadStart));
+                runMultiCore(multiCore, workload, printGantt, ganttFile);
+                return;
+            }
+
+            Scheduler scheduler = sweep == null ? createScheduler(algorithm, timeQuantum, agingInterval, levelQuanta, boostInterval,
+                    targetLatency, minGranularity) : null;
+
+            long loadStart = System.nanoTime();
+            Workload workload = loadWorkload(Paths.get(file));
+            System.out.printf("Loaded %d processes from %s in %.1f ms%n", workload.size(), file, millisSince(loadStart));
+
+            if (sweep != null) {
+                runSweep(workload, sweep, checkpoint);
+            } else if (checkpointTimes != null) {
+                runCheckpointed((RoundRobinScheduler) scheduler, workload, checkpointTimes, Paths.get(checkpointDir), printGantt, ganttFile);
+            } else {
+                runScheduler(scheduler, workload, checkpoint, printGantt, ganttFile);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Error reading workload: " + e.getMessage());
+            System.exit(1);
+        } catch (UncheckedIOException e) {
+            System.err.println("Error writing output: " + e.getCause().getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Binary workload files are recognized by their magic number, anything else is parsed as text
+    static Workload loadWorkload(Path path) throws IOException {
+        if (BinaryWorkloadFile.isBinaryWorkload(path)) {
+            return BinaryWorkloadFile.open(path).toWorkload();
+        }
+        return TextWorkloadReader.read(path);
+    }
+
+    // Creates the scheduler for a command-line algorithm name
+    static Scheduler createScheduler(String algorithm, int timeQuantum, int agingInterval, int[] levelQuanta, int boostInterval,
+                                     int targetLatency, int minGranularity) {
+        switch (algorithm.toLowerCase()) {
+            case "rr":
+            case "roundrobin":
+                if (timeQuantum <= 0) {
+                    throw new IllegalArgumentException("Round Robin needs a positive --quantum");
+                }
+                return new RoundRobinScheduler(timeQuantum);
+            case "sjf":
+            case "sjn":
+                return new NonPreemptiveSJFScheduler();
+            case "srt":
+                return new ShortestRemainingTimeScheduler();
+            case "priority":
+                return new NonPreemptivePriorityScheduler(agingInterval);
+            case "mlfq":
+                if (levelQuanta == null) {
+                    throw new IllegalArgumentException("MLFQ needs --levels");
+                }
+                return new MultilevelFeedbackQueueScheduler(levelQuanta, boostInterval);
+            case "cfs":
+                return new CompletelyFairScheduler(targetLatency, minGranularity);
+            default:
+                throw new IllegalArgumentException("Unknown algorithm: " + algorithm);
+        }
+    }
+
+    // Creates the multi-core scheduler for a command-line algorithm name and queue mode
+    static MultiCoreScheduler createMultiCoreScheduler(String algorithm, int timeQuantum, int cores, String queues) {
+        MultiCoreScheduler.QueueMode queueMode;
+        switch (queues.toLowerCase()) {
+            case "global":
+                queueMode = MultiCoreScheduler.QueueMode.GLOBAL;
+                break;
+            case "per-core":
+                queueMode = MultiCoreScheduler.QueueMode.PER_CORE;
+                break;
+            case "stealing":
+                queueMode = MultiCoreScheduler.QueueMode.WORK_STEALING;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown queue mode: " + queues);
+        }
+        switch (algorithm == null ? "" : algorithm.toLowerCase()) {
+            case "rr":
+            case "roundrobin":
+                if (timeQuantum <= 0) {
+                    throw new IllegalArgumentException("Round Robin needs a positive --quantum");
+                }
+                return MultiCoreScheduler.roundRobin(cores, timeQuantum, queueMode);
+            case "sjf":
+            case "sjn":
+                return MultiCoreScheduler.shortestJobFirst(cores, queueMode);
+            default:
+                throw new IllegalArgumentException("--cores is only available for rr and sjf");
+        }
+    }
+
+    // Runs from time 0, or resumes from the checkpoint when one is given (Round Robin only)
+    private static void runScheduler(Scheduler scheduler, Workload workload, SimulationCheckpoint checkpoint,
+                                     boolean printGantt, String ganttFile) throws IOException {
+        long start = System.nanoTime();
+        ScheduleResult result = checkpoint == null ? scheduler.run(workload, printGantt || ganttFile != null)
+                : ((RoundRobinScheduler) scheduler).resume(workload, checkpoint, printGantt || ganttFile != null);
+        double elapsed = millisSince(start);
+
+        if (checkpoint != null) {
+            System.out.printf("Resumed from checkpoint at time %d (%d processes completed)%n", checkpoint.getTime(),
+                    checkpoint.getCompletedProcesses());
+        }
+        printResult(scheduler, workload, result, elapsed, printGantt, ganttFile);
+    }
+
+    // Round Robin run that writes a checkpoint file into the directory at each of the given times
+    private static void runCheckpointed(RoundRobinScheduler scheduler, Workload workload, int[] checkpointTimes,
+                                        Path checkpointDir, boolean printGantt, String ganttFile) throws IOException {
+        long start = System.nanoTime();
+        ScheduleResult result = scheduler.run(workload, printGantt || ganttFile != null, checkpointTimes, checkpoint -> {
+            Path path = checkpointDir.resolve("checkpoint-" + checkpoint.getTime() + ".bin");
+            try {
+                checkpoint.write(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            System.out.printf("Checkpoint at time %d written to %s%n", checkpoint.getTime(), path);
+        });
+        printResult(scheduler, workload, result, millisSince(start), printGantt, ganttFile);
+    }
+
+    private static void printResult(Scheduler scheduler, Workload workload, ScheduleResult result, double elapsed,
+                                    boolean printGantt, String ganttFile) throws IOException {
+        System.out.println("Algorithm: " + scheduler.getName());
+        System.out.printf("Processes completed: %d of %d%n", result.getCompletedProcesses(), workload.size());
+        System.out.printf("Average Turnaround Time: %.2f%n", result.getAverageTurnaroundTime());
+        System.out.printf("Average Waiting Time: %.2f%n", result.getAverageWaitingTime());
+        System.out.printf("Average Response Time: %.2f%n", result.getAverageResponseTime());
+        System.out.print(result.getSummary().formatPercentiles());
+        System.out.printf("Context Switches: %d%n", result.getContextSwitches());
+        System.out.printf("Makespan: %d%n", result.getMakespan());
+        System.out.printf("CPU Utilization: %.1f%%%n", result.getCpuUtilization() * 100);
+        if (workload.hasIoBursts()) {
+            System.out.printf("Total I/O Time: %d%n", result.getSummary().getTotalIoTime());
+            System.out.printf("I/O Overlap: %.1f%% of I/O time with the CPU busy%n", result.getIoOverlap() * 100);
+        }
+        System.out.printf("Simulation Time: %.1f ms%n", elapsed);
+
+        if (ganttFile != null) {
+            try (GanttTextWriter gantt = openGanttFile(ganttFile)) {
+                gantt.writeRows(result.getScheduleTrace());
+            }
+            System.out.println("Gantt chart written to " + ganttFile);
+        } else if (printGantt) {
+            System.out.println("Gantt Chart:");
+            GanttTextWriter gantt = new GanttTextWriter(Channels.newChannel(System.out));
+            gantt.writeRows(result.getScheduleTrace());
+            gantt.flush(); // Not closed, that would close standard output
+        }
+    }
+
+    private static void runMultiCore(MultiCoreScheduler scheduler, Workload workload, boolean printGantt, String ganttFile)
+            throws IOException {
+        long start = System.nanoTime();
+        MultiCoreResult result = scheduler.run(workload, printGantt || ganttFile != null);
+        double elapsed = millisSince(start);
+
+        System.out.println("Algorithm: " + scheduler.getName());
+        System.out.printf("Processes completed: %d of %d%n", result.getCompletedProcesses(), workload.size());
+        System.out.printf("Average Turnaround Time: %.2f%n", result.getAverageTurnaroundTime());
+        System.out.printf("Average Waiting Time: %.2f%n", result.getAverageWaitingTime());
+        System.out.printf("Average Response Time: %.2f%n", result.getAverageResponseTime());
+        System.out.print(result.getSummary().formatPercentiles());
+        System.out.printf("Context Switches: %d%n", result.getContextSwitches());
+        System.out.printf("Makespan: %d%n", result.getMakespan());
+        System.out.printf("Average Utilization: %.1f%%%n", result.getAverageUtilization() * 100);
+        for (int core = 0; core < result.getCoreCount(); core++) {
+            System.out.printf("  Core %d: busy %d, utilization %.1f%%%n", core, result.getBusyTime(core), result.getUtilization(core) * 100);
+        }
+        System.out.printf("Simulation Time: %.1f ms%n", elapsed);
+
+        if (ganttFile != null) {
+            try (GanttTextWriter gantt = openGanttFile(ganttFile)) {
+                writeCoreRows(gantt, result);
+            }
+            System.out.println("Gantt chart written to " + ganttFile);
+        } else if (printGantt) {
+            System.out.println("Gantt Chart:");
+            GanttTextWriter gantt = new GanttTextWriter(Channels.newChannel(System.out));
+            writeCoreRows(gantt, result);
+            gantt.flush(); // Not closed, that would close standard output
+        }
+    }
+
+    // One block of Gantt rows per core, each under a "Core N:" heading
+    private static void writeCoreRows(GanttTextWriter gantt, MultiCoreResult result) throws IOException {
+        for (int core = 0; core < result.getCoreCount(); core++) {
+            gantt.write("Core " + core + ":\n");
+            gantt.writeRows(result.getScheduleTrace(core));
+        }
+    }
+
+    // Gantt rows are written straight to the file channel in fixed-size chunks
+    private static GanttTextWriter openGanttFile(String ganttFile) throws IOException {
+        return new GanttTextWriter(FileChannel.open(Paths.get(ganttFile), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    // Streams the file through the incremental Round Robin mode, so memory stays bounded by the ready queue
+    private static void runStreaming(Path path, String algorithm, int timeQuantum, boolean printGantt, String ganttFile)
+            throws IOException {
+        if (!isRoundRobin(algorithm)) {
+            throw new IllegalArgumentException("--stream is only available for rr");
+        }
+        if (timeQuantum <= 0) {
+            throw new IllegalArgumentException("Round Robin needs a positive --quantum");
+        }
+        // Slices go straight from the simulation to the Gantt output, so its memory stays bounded too
+        GanttTextWriter gantt = null;
+        if (ganttFile != null) {
+            gantt = openGanttFile(ganttFile);
+        } else if (printGantt) {
+            System.out.println("Gantt Chart:");
+            gantt = new GanttTextWriter(Channels.newChannel(System.out));
+        }
+        StreamingRoundRobin simulation = new StreamingRoundRobin(timeQuantum, gantt != null ? gantt : new ScheduleSink() {
+            @Override
+            public void onSlice(int processId, int start, int end) {
+                // No Gantt output requested
+            }
+
+            @Override
+            public void onCompletion(int processId, int arrivalTime, int burstTime, int priority, int finishingTime) {
+                // Only the running totals are reported
+            }
+        });
+
+        long start = System.nanoTime();
+        if (BinaryWorkloadFile.isBinaryWorkload(path)) {
+            BinaryWorkloadFile.open(path).forEachRecord(simulation);
+        } else {
+            TextWorkloadReader.forEachRecord(path, simulation);
+        }
+        ScheduleSummary summary = simulation.finish();
+        if (ganttFile != null) {
+            gantt.close();
+        } else if (gantt != null) {
+            gantt.flush(); // Not closed, that would close standard output
+        }
+
+        System.out.println("Algorithm: Round Robin (q=" + timeQuantum + ", streaming)");
+        System.out.printf("Processes completed: %d%n", summary.getCompletedProcesses());
+        System.out.printf("Average Turnaround Time: %.2f%n", summary.getAverageTurnaroundTime());
+        System.out.printf("Average Waiting Time: %.2f%n", summary.getAverageWaitingTime());
+        System.out.printf("Average Response Time: %.2f%n", summary.getAverageResponseTime());
+        System.out.print(summary.formatPercentiles());
+        System.out.printf("Context Switches: %d%n", summary.getContextSwitches());
+        System.out.printf("Makespan: %d%n", summary.getMakespan());
+        System.out.printf("Simulation Time: %.1f ms%n", millisSince(start));
+    }
+
+    // Sweep argument format: FROM:TO or FROM:TO:STEP. With a checkpoint, every run branches from it.
+    private static void runSweep(Workload workload, String range, SimulationCheckpoint checkpoint) {
+        String[] parts = range.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            throw new IllegalArgumentException("Sweep range must be FROM:TO or FROM:TO:STEP");
+        }
+        int from = Integer.parseInt(parts[0]);
+        int to = Integer.parseInt(parts[1]);
+        int step = parts.length == 3 ? Integer.parseInt(parts[2]) : 1;
+
+        long start = System.nanoTime();
+        if (checkpoint != null) {
+            System.out.printf("Branching from checkpoint at time %d (%d processes completed)%n", checkpoint.getTime(),
+                    checkpoint.getCompletedProcesses());
+        }
+        QuantumSweep.print(checkpoint == null ? QuantumSweep.run(workload, from, to, step)
+                : QuantumSweep.run(workload, checkpoint, from, to, step), System.out);
+        System.out.printf("Sweep Time: %.1f ms%n", millisSince(start));
+    }
+
+    private static boolean isRoundRobin(String algorithm) {
+        return algorithm != null && (algorithm.equalsIgnoreCase("rr") || algorithm.equalsIgnoreCase("roundrobin"));
+    }
+
+    // Level quanta format: Q1,Q2,... from the highest level down
+    private static int[] parseQuanta(String quanta) {
+        String[] parts = quanta.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim());
+        }
+        return result;
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1e6;
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage: java BatchRunner --algorithm <rr|sjf|srt|priority|mlfq|cfs> [options] <workload-file>");
+        out.println("       java BatchRunner --sweep FROM:TO[:STEP] <workload-file>");
+        out.println("       java BatchRunner --convert <binary-file> <text-file>");
+        out.println();
+        out.println("The workload file has one process per line: pid, arrival, burst, priority,");
+        out.println("separated by commas or whitespace. Blank lines, # comments and one header line");
+        out.println("naming these columns, e.g. pid,arrival,burst,priority, are ignored.");
+        out.println("A process that does I/O continues its line with pairs of I/O and CPU bursts: io, burst, ...");
+        out.println("Binary workload files written by --convert are detected automatically.");
+        out.println();
+        out.println("Options:");
+        out.println("  -a, --algorithm NAME    rr, sjf, srt, priority, mlfq or cfs");
+        out.println("  -q, --quantum N         time quantum for rr");
+        out.println("      --aging N           aging interval for priority (0 disables aging)");
+        out.println("      --levels Q1,Q2,...  quantum of every mlfq level, highest priority first");
+        out.println("      --boost N           mlfq: move every process back to the top level every N time units");
+        out.println("      --latency N         cfs: target latency, the period every runnable process runs once in (default "
+                + CompletelyFairScheduler.DEFAULT_TARGET_LATENCY + ")");
+        out.println("      --granularity N     cfs: shortest period share per process (default "
+                + CompletelyFairScheduler.DEFAULT_MIN_GRANULARITY + ")");
+        out.println("      --sweep FROM:TO     Round Robin quantum sweep instead of a single run");
+        out.println("      --gantt             also print every Gantt chart slice");
+        out.println("      --gantt-out FILE    write every Gantt chart slice to FILE instead");
+        out.println("      --cores N           rr and sjf: schedule on N cores (default 1)");
+        out.println("      --queues MODE       with --cores: global, per-core or stealing (default global);");
+        out.println("                          only per-core simulates the cores on several threads");
+        out.println("      --stream            rr only: simulate while reading, with memory bounded by the ready queue");
+        out.println("      --convert FILE      convert the text workload to the binary format and exit");
+        out.println("      --checkpoint-at T1,T2,...  rr: save the simulation state at these simulated times");
+        out.println("      --checkpoint-dir DIR       directory for the checkpoint-<time>.bin files (default .)");
+        out.println("      --resume FILE       rr or --sweep: continue from a checkpoint of the same workload");
+    }
+}
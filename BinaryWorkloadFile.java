@@ -0,0 +1,234 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Fixed-width binary workload format for very large traces.
+//
+// Layout (little-endian): a 16-byte header holding the magic "CPUW", the format version and the record
+// count as a long, followed by one 16-byte record per process: pid, arrival, burst, priority.
+//
+// Opening a file only memory-maps it through FileChannel.map, so even multi-gigabyte traces open in
+// milliseconds. Records are read straight from the mapping, without a Process object per row.
+public final class BinaryWorkloadFile {
+    static final int MAGIC = 0x57555043; // "CPUW" when read as little-endian bytes
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 16;
+
+    // A single mapping is limited to 2 GB, so larger files are mapped as several segments
+    private static final int SEGMENT_SHIFT = 26; // Records per segment: 64M, i.e. 1 GB
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final MappedByteBuffer[] segments;
+    private final long recordCount;
+
+    private BinaryWorkloadFile(MappedByteBuffer[] segments, long recordCount) {
+        this.segments = segments;
+        this.recordCount = recordCount;
+    }
+
+    // Maps the file read-only. The mapping stays valid after the channel is closed.
+    public static BinaryWorkloadFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is complete or the file ends
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt() != MAGIC) {
+                throw new IOException(path + " is not a binary workload file");
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported workload format version " + version);
+            }
+            long recordCount = header.getLong();
+            if (recordCount < 0 || HEADER_BYTES + recordCount * RECORD_BYTES > channel.size()) {
+                throw new IOException(path + " is truncated: header announces " + recordCount + " records");
+            }
+
+            int segmentCount = (int) ((recordCount + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+            MappedByteBuffer[] segments = new MappedByteBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long firstRecord = (long) i << SEGMENT_SHIFT;
+                long records = Math.min(recordCount - firstRecord, 1L << SEGMENT_SHIFT);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + firstRecord * RECORD_BYTES, records * RECORD_BYTES);
+                segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new BinaryWorkloadFile(segments, recordCount);
+        }
+    }
+
+    // Returns true if the file starts with the binary workload magic number
+    public static boolean isBinaryWorkload(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining() && channel.read(magic) >= 0) {
+                // Keep reading until four bytes are in or the file ends
+            }
+            return !magic.hasRemaining() && magic.getInt(0) == MAGIC;
+        }
+    }
+
+    // Converts a text trace to the binary format, streaming record by record
+    public static long convert(Path textFile, Path binaryFile) throws IOException {
+        try (RecordWriter writer = new RecordWriter(binaryFile)) {
+            TextWorkloadReader.forEachRecord(textFile, writer);
+            writer.commit();
+            return writer.recordCount;
+        }
+    }
+
+    // Writes an in-memory workload of pure CPU jobs to the binary format, which has no I/O bursts
+    public static void write(Workload workload, Path binaryFile) throws IOException {
+        if (workload.hasIoBursts()) {
+            throw new IllegalArgumentException("The binary workload format cannot hold I/O bursts");
+        }
+        try (RecordWriter writer = new RecordWriter(binaryFile)) {
+            for (int i = 0; i < workload.size(); i++) {
+                writer.accept(workload.processIds[i], workload.arrivalTimes[i], workload.burstTimes[i], workload.priorities[i]);
+            }
+            writer.commit();
+        }
+    }
+
+    // Writes count generated processes to the binary format without materializing the workload
+    public static void write(WorkloadGenerator generator, long count, Path binaryFile) throws IOException {
+        try (RecordWriter writer = new RecordWriter(binaryFile)) {
+            generator.generate(count, writer);
+            writer.commit();
+        }
+    }
+
+    public long size() {
+        return recordCount;
+    }
+
+    public int getProcessId(long index) {
+        return field(index, 0);
+    }
+
+    public int getArrivalTime(long index) {
+        return field(index, 4);
+    }
+
+    public int getBurstTime(long index) {
+        return field(index, 8);
+    }
+
+    public int getPriority(long index) {
+        return field(index, 12);
+    }
+
+    // Passes every record to the consumer in file order, walking the mapped segments sequentially
+    public void forEachRecord(ProcessRecordConsumer consumer) throws IOException {
+        for (MappedByteBuffer segment : segments) {
+            int limit = segment.limit();
+            for (int offset = 0; offset < limit; offset += RECORD_BYTES) {
+                consumer.accept(segment.getInt(offset), segment.getInt(offset + 4),
+                        segment.getInt(offset + 8), segment.getInt(offset + 12));
+            }
+        }
+    }
+
+    // Copies the records straight from the mapping into the workload's int arrays
+    public Workload toWorkload() {
+        if (recordCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(recordCount + " records do not fit in an in-memory workload");
+        }
+        int n = (int) recordCount;
+        int[] processIds = new int[n];
+        int[] arrivalTimes = new int[n];
+        int[] burstTimes = new int[n];
+        int[] priorities = new int[n];
+        int index = 0;
+        for (MappedByteBuffer segment : segments) {
+            int limit = segment.limit();
+            for (int offset = 0; offset < limit; offset += RECORD_BYTES) {
+                processIds[index] = segment.getInt(offset);
+                arrivalTimes[index] = segment.getInt(offset + 4);
+                burstTimes[index] = segment.getInt(offset + 8);
+                priorities[index] = segment.getInt(offset + 12);
+                index++;
+            }
+        }
+        return new Workload(processIds, arrivalTimes, burstTimes, priorities);
+    }
+
+    private int field(long index, int fieldOffset) {
+        if (index < 0 || index >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + index + " of " + recordCount);
+        }
+        MappedByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+        return segment.getInt((int) (index & SEGMENT_MASK) * RECORD_BYTES + fieldOffset);
+    }
+
+    // Streams records into a new binary file through a direct buffer. The header is only written by commit,
+    // once every record is in, so a file whose input failed part way is never taken for a valid workload:
+    // closing without a commit deletes it, and until then it does not start with the magic number.
+    private static final class RecordWriter implements ProcessRecordConsumer, AutoCloseable {
+        private final Path path;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private long recordCount = 0;
+        private boolean committed = false;
+
+        RecordWriter(Path path) throws IOException {
+            this.path = path;
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            buffer.put(new byte[HEADER_BYTES]); // Placeholder until commit
+        }
+
+        @Override
+        public void accept(int processId, int arrivalTime, int burstTime, int priority) throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                flush();
+            }
+            buffer.putInt(processId).putInt(arrivalTime).putInt(burstTime).putInt(priority);
+            recordCount++;
+        }
+
+        @Override
+        public void accept(int processId, int arrivalTime, int priority, int[] bursts, int count) throws IOException {
+            if (count != 1) {
+                throw new IOException("Process " + processId + " has I/O bursts, which the binary workload format cannot hold");
+            }
+            accept(processId, arrivalTime, bursts[0], priority);
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        // Writes the remaining records and then the header, which makes the file valid
+        void commit() throws IOException {
+            flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putLong(recordCount).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, HEADER_BYTES - header.remaining());
+            }
+            committed = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+            if (!committed) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+// Compare mode: the workload is entered or loaded once and then run through every algorithm at once.
+public class ComparisonGUI extends JFrame {
+    public ComparisonGUI() {
+        setTitle("Compare Scheduling Algorithms");
+        setSize(600, 550);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Title panel setup
+        JPanel titlePanel = Styles.titlePanel("Compare Scheduling Algorithms");
+        add(titlePanel, BorderLayout.NORTH);
+
+        // Input panel setup
+        JPanel inputPanel = new JPanel(new GridLayout(0, 1, 10, 10));
+        inputPanel.setBorder(BorderFactory.createEmptyBorder(20, 50, 20, 50));
+
+        JTextField quantumField = new JTextField("2");
+        inputPanel.add(new JLabel("Enter Time Quantum for Round Robin:"));
+        inputPanel.add(quantumField);
+
+        JTextField agingField = new JTextField("0");
+        inputPanel.add(new JLabel("Enter Aging Interval for Priority (0 for no aging):"));
+        inputPanel.add(agingField);
+
+        JTextField processField = new JTextField();
+        inputPanel.add(new JLabel("Enter Number of Processes, or load a workload file:"));
+        inputPanel.add(processField);
+
+        JButton nextButton = Styles.button("Next");
+        JButton loadButton = Styles.button("Load Workload File...");
+        inputPanel.add(nextButton);
+        inputPanel.add(loadButton);
+
+        add(inputPanel, BorderLayout.CENTER);
+
+        nextButton.addActionListener(e -> {
+            try {
+                List<Scheduler> schedulers = createSchedulers(quantumField, agingField);
+                if (schedulers == null) {
+                    return;
+                }
+                int numProcesses = Integer.parseInt(processField.getText().trim());
+                if (numProcesses <= 0) {
+                    JOptionPane.showMessageDialog(this, "Please enter a positive number of processes.", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                List<Process> processes = new ArrayList<>();
+                for (int i = 0; i < numProcesses; i++) {
+                    int burstTime = Integer.parseInt(JOptionPane.showInputDialog("Enter Burst Time for P" + i + ":"));
+                    int arrivalTime = Integer.parseInt(JOptionPane.showInputDialog("Enter Arrival Time for P" + i + ":"));
+                    int priority = Integer.parseInt(JOptionPane.showInputDialog("Enter Priority for P" + i + ":"));
+                    processes.add(new Process(i, arrivalTime, burstTime, priority));
+                }
+
+                new ComparisonResultsFrame(Workload.of(processes), schedulers).setVisible(true);
+
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Invalid input. Please enter numeric values.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        loadButton.addActionListener(e -> {
+            List<Scheduler> schedulers;
+            try {
+                schedulers = createSchedulers(quantumField, agingField);
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Invalid input. Please enter numeric values.", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (schedulers == null) {
+                return;
+            }
+            JFileChooser chooser = new JFileChooser(new File("."));
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+
+            // Large trace files take a while to parse, so they are loaded off the EDT as well
+            File file = chooser.getSelectedFile();
+            loadButton.setEnabled(false);
+            SwingWorker<Workload, Void> loader = new SwingWorker<Workload, Void>() {
+                @Override
+                protected Workload doInBackground() throws Exception {
+                    return BatchRunner.loadWorkload(file.toPath());
+                }
+
+                @Override
+                protected void done() {
+                    loadButton.setEnabled(true);
+                    try {
+                        new ComparisonResultsFrame(get(), schedulers).setVisible(true);
+                    } catch (InterruptedException | ExecutionException ex) {
+                        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                        JOptionPane.showMessageDialog(ComparisonGUI.this, "Could not load " + file + ": " + cause.getMessage(),
+                                "Error", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+            ScheduleWorker.EXECUTOR.execute(loader);
+        });
+
+        setVisible(true);
+    }
+
+    // The algorithms to compare, or null (after telling the user) if the settings are out of range
+    private List<Scheduler> createSchedulers(JTextField quantumField, JTextField agingField) {
+        int timeQuantum = Integer.parseInt(quantumField.getText().trim());
+        int agingInterval = Integer.parseInt(agingField.getText().trim());
+        if (timeQuantum <= 0 || agingInterval < 0) {
+            JOptionPane.showMessageDialog(this, "Please enter a positive time quantum and a non-negative aging interval.", "Error", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+
+        List<Scheduler> schedulers = new ArrayList<>();
+        schedulers.add(new RoundRobinScheduler(timeQuantum));
+        schedulers.add(new ShortestRemainingTimeScheduler());
+        schedulers.add(new NonPreemptiveSJFScheduler());
+        schedulers.add(new NonPreemptivePriorityScheduler(agingInterval));
+        // Three feedback levels starting at the Round Robin quantum, each twice as long as the one above
+        schedulers.add(new MultilevelFeedbackQueueScheduler(new int[]{timeQuantum, 2 * timeQuantum, 4 * timeQuantum}, 0));
+        schedulers.add(new CompletelyFairScheduler());
+        return schedulers;
+    }
+
+    public static void main(String[] args) {
+        new ComparisonGUI();
+    }
+}
@@ -0,0 +1,135 @@
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+// Runs one workload through several schedulers at the same time, each on its own background thread,
+// and shows a combined metrics table above one Gantt chart per algorithm. Rows and charts fill in as
+// the runs progress, so the whole comparison takes about as long as the slowest algorithm.
+public class ComparisonResultsFrame extends JFrame {
+    private static final int COLUMN_STATUS = 1;
+    private static final int CHART_HEIGHT = 150;
+
+    private final DefaultTableModel model;
+    private final JLabel summaryLabel = new JLabel(" ");
+    private final List<ScheduleWorker> workers = new ArrayList<>();
+    private final long startNanos = System.nanoTime();
+    private int finishedRuns = 0;
+
+    public ComparisonResultsFrame(Workload workload, List<Scheduler> schedulers) {
+        super("Algorithm Comparison - " + workload.size() + " processes");
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(900, 700);
+
+        // Defining column names for the combined metrics table.
+        String[] columns = {"Algorithm", "Status", "Avg Turnaround", "Avg Waiting", "p99 Waiting", "p99 Response", "Context Switches", "Makespan", "Run Time (ms)"};
+        model = new DefaultTableModel(columns, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(model);
+        JScrollPane tableScrollPane = new JScrollPane(table);
+        tableScrollPane.setPreferredSize(new Dimension(getWidth(), (schedulers.size() + 2) * table.getRowHeight() + 10));
+
+        JPanel topPanel = new JPanel(new BorderLayout(5, 5));
+        topPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        topPanel.add(summaryLabel, BorderLayout.NORTH);
+        topPanel.add(tableScrollPane, BorderLayout.CENTER);
+        add(topPanel, BorderLayout.NORTH);
+
+        // One Gantt chart per algorithm, stacked in the order of the table rows
+        JPanel chartsPanel = new JPanel(new GridLayout(0, 1, 0, 10));
+        chartsPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        add(new JScrollPane(chartsPanel), BorderLayout.CENTER);
+
+        for (int i = 0; i < schedulers.size(); i++) {
+            int row = i;
+            Scheduler scheduler = schedulers.get(i);
+            model.addRow(new Object[]{scheduler.getName(), "Running", "", "", "", "", "", "", ""});
+
+            JPanel chartHolder = new JPanel(new BorderLayout());
+            chartHolder.setBorder(BorderFactory.createTitledBorder(scheduler.getName()));
+            chartHolder.setPreferredSize(new Dimension(getWidth(), CHART_HEIGHT + 30));
+            chartsPanel.add(chartHolder);
+
+            ScheduleWorker worker = new ScheduleWorker(scheduler, workload) {
+                private final GanttChartPanel liveChart = new GanttChartPanel(getLiveTrace());
+
+                {
+                    chartHolder.add(liveChart, BorderLayout.CENTER);
+                }
+
+                @Override
+                protected void onProgress(int simulatedTime, int completedProcesses) {
+                    model.setValueAt("Running: " + completedProcesses + " of " + workload.size(), row, COLUMN_STATUS);
+                    liveChart.setTrace(getLiveTrace());
+                }
+
+                @Override
+                protected void done() {
+                    showResult(this, row, chartHolder);
+                }
+            };
+            workers.add(worker);
+        }
+
+        // Closing the window cancels whatever is still running
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                for (ScheduleWorker worker : workers) {
+                    worker.cancel(true);
+                }
+            }
+        });
+
+        summaryLabel.setText("Running " + schedulers.size() + " algorithms concurrently...");
+        for (ScheduleWorker worker : workers) {
+            worker.start();
+        }
+    }
+
+    // Fills in the table row of a finished run and swaps its live chart for the complete schedule
+    private void showResult(ScheduleWorker worker, int row, JPanel chartHolder) {
+        finishedRuns++;
+        if (worker.isCancelled()) {
+            model.setValueAt("Cancelled", row, COLUMN_STATUS);
+        } else {
+            try {
+                ScheduleResult result = worker.get();
+                model.setValueAt("Done", row, COLUMN_STATUS);
+                model.setValueAt(String.format("%.2f", result.getAverageTurnaroundTime()), row, 2);
+                model.setValueAt(String.format("%.2f", result.getAverageWaitingTime()), row, 3);
+                model.setValueAt(result.getSummary().getWaitingTimes().getPercentile(99), row, 4);
+                model.setValueAt(result.getSummary().getResponseTimes().getPercentile(99), row, 5);
+                model.setValueAt(result.getContextSwitches(), row, 6);
+                model.setValueAt(result.getMakespan(), row, 7);
+                model.setValueAt(String.format("%.1f", worker.getRunTimeNanos() / 1e6), row, 8);
+
+                chartHolder.removeAll();
+                chartHolder.add(new GanttChartPanel(result.getScheduleTrace()), BorderLayout.CENTER);
+                chartHolder.revalidate();
+                chartHolder.repaint();
+            } catch (InterruptedException | ExecutionException ex) {
+                Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                model.setValueAt("Failed: " + cause.getMessage(), row, COLUMN_STATUS);
+            }
+        }
+
+        if (finishedRuns == workers.size()) {
+            // Compare the wall time of the whole comparison with what running the algorithms one by one would take
+            long totalRunNanos = 0;
+            for (ScheduleWorker finished : workers) {
+                totalRunNanos += Math.max(0, finished.getRunTimeNanos());
+            }
+            summaryLabel.setText(String.format("All runs finished in %.1f ms wall time (%.1f ms when run one after another)",
+                    (System.nanoTime() - startNanos) / 1e6, totalRunNanos / 1e6));
+        }
+    }
+}
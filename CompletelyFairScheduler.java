@@ -0,0 +1,169 @@
+// Completely Fair Scheduler in the style of Linux CFS. Every ready process has a virtual runtime: the CPU
+// time it has received, scaled down by its weight. The process with the smallest virtual runtime runs
+// next, so over time every process gets CPU in proportion to its weight.
+//
+// The priority of a process is its nice value, clamped to -20..19, and maps to a weight through the Linux
+// nice-to-weight table: each nice level is worth about 10% CPU, and nice 0 weighs 1024. A process runs for
+// its weighted share of the scheduling period, which is the target latency, stretched to
+// minGranularity per runnable process when there are many. New processes start at the smallest virtual
+// runtime in the system, so they neither starve nor jump ahead of everyone else. Arrivals do not preempt
+// the running process; they compete when its slice ends.
+//
+// The ready queue is an IntRedBlackTree keyed on the long virtual runtime, with the leftmost node cached,
+// so picking the next process is O(1) and re-queuing it O(log n), without allocating on any dispatch.
+public class CompletelyFairScheduler implements Scheduler {
+    static final int DEFAULT_TARGET_LATENCY = 24;
+    static final int DEFAULT_MIN_GRANULARITY = 3;
+
+    // Weight of nice -20 to 19 (index nice + 20), from the Linux kernel's sched_prio_to_weight
+    private static final int[] NICE_TO_WEIGHT = {
+            88761, 71755, 56483, 46273, 36291,
+            29154, 23254, 18705, 14949, 11916,
+            9548, 7620, 6100, 4904, 3906,
+            3121, 2501, 1991, 1586, 1277,
+            1024, 820, 655, 526, 423,
+            335, 272, 215, 172, 137,
+            110, 87, 70, 56, 45,
+            36, 29, 23, 18, 15,
+    };
+    private static final int NICE_0_WEIGHT = 1024;
+    // Virtual runtime of one tick at nice 0. Fixed point keeps the rounding of heavy weights negligible.
+    private static final long VRUNTIME_PER_TICK = 1L << 20;
+
+    private final int targetLatency;
+    private final int minGranularity;
+
+    public CompletelyFairScheduler() {
+        this(DEFAULT_TARGET_LATENCY, DEFAULT_MIN_GRANULARITY);
+    }
+
+    public CompletelyFairScheduler(int targetLatency, int minGranularity) {
+        if (minGranularity <= 0) {
+            throw new IllegalArgumentException("Minimum granularity must be positive: " + minGranularity);
+        }
+        if (targetLatency < minGranularity) {
+            throw new IllegalArgumentException("Target latency must be at least the minimum granularity: " + targetLatency);
+        }
+        this.targetLatency = targetLatency;
+        this.minGranularity = minGranularity;
+    }
+
+    public int getTargetLatency() {
+        return targetLatency;
+    }
+
+    public int getMinGranularity() {
+        return minGranularity;
+    }
+
+    @Override
+    public String getName() {
+        return "CFS (latency=" + targetLatency + ", granularity=" + minGranularity + ")";
+    }
+
+    @Override
+    public ScheduleResult run(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, listener);
+        return kernel.run(new Policy(kernel, targetLatency, minGranularity));
+    }
+
+    // Weight of a process with the given priority as its nice value
+    static int weightOf(int nice) {
+        return NICE_TO_WEIGHT[Math.max(-20, Math.min(19, nice)) + 20];
+    }
+
+    // Virtual runtime a process of the given weight is charged for running ranTime ticks
+    static long virtualRuntime(int ranTime, int weight) {
+        return ranTime * VRUNTIME_PER_TICK * NICE_0_WEIGHT / weight;
+    }
+
+    static final class Policy implements SchedulingPolicy {
+        private final SimulationKernel kernel;
+        private final int targetLatency;
+        private final int minGranularity;
+        private final int[] weights;
+        private final long[] vruntimes;
+        private final IntRedBlackTree readyQueue;
+        private long queuedWeight = 0;  // Total weight of the processes in the ready queue
+        private long minVruntime = 0;   // Never decreases; where new processes start
+
+        Policy(SimulationKernel kernel, int targetLatency, int minGranularity) {
+            this.kernel = kernel;
+            this.targetLatency = targetLatency;
+            this.minGranularity = minGranularity;
+            int n = kernel.workload.size();
+            this.weights = new int[n];
+            for (int i = 0; i < n; i++) {
+                weights[i] = weightOf(kernel.workload.priorities[i]);
+            }
+            this.vruntimes = new long[n];
+            this.readyQueue = new IntRedBlackTree(n);
+        }
+
+        @Override
+        public void onArrival(int process) {
+            if (kernel.remainingTimes[process] > 0) {
+                vruntimes[process] = minVruntime;
+                enqueue(process);
+            } else {
+                kernel.discard(process); // Nothing to run for this process
+            }
+        }
+
+        // Back from I/O: a process that slept keeps its virtual runtime, but at most half a target latency
+        // below the smallest one, so a long sleep does not buy it a long run of the CPU
+        @Override
+        public void onWakeup(int process, int readyTime) {
+            long sleeperCredit = targetLatency / 2 * VRUNTIME_PER_TICK;
+            vruntimes[process] = Math.max(vruntimes[process], minVruntime - sleeperCredit);
+            enqueue(process);
+        }
+
+        // The leftmost process of the tree, i.e. the one with the smallest virtual runtime
+        @Override
+        public int selectNext() {
+            if (readyQueue.isEmpty()) {
+                return -1;
+            }
+            int process = readyQueue.poll();
+            queuedWeight -= weights[process];
+            minVruntime = Math.max(minVruntime, vruntimes[process]);
+            return process;
+        }
+
+        // The process's weighted share of the scheduling period
+        @Override
+        public int sliceLength(int process) {
+            long runnable = readyQueue.size() + 1L;
+            long period = Math.max(targetLatency, runnable * minGranularity);
+            long slice = period * weights[process] / (queuedWeight + weights[process]);
+            return (int) Math.max(1, Math.min(slice, kernel.remainingTimes[process]));
+        }
+
+        @Override
+        public void onPreempted(int process, int ranTime) {
+            charge(process, ranTime);
+            enqueue(process);
+        }
+
+        // A slice that ends in I/O is charged like any other, so the sleeper credit on wakeup is the only
+        // head start an I/O-bound process gets
+        @Override
+        public void onBlocked(int process, int ranTime) {
+            charge(process, ranTime);
+        }
+
+        long getVruntime(int process) {
+            return vruntimes[process];
+        }
+
+        private void charge(int process, int ranTime) {
+            vruntimes[process] += virtualRuntime(ranTime, weights[process]);
+        }
+
+        private void enqueue(int process) {
+            readyQueue.add(process, vruntimes[process]);
+            queuedWeight += weights[process];
+        }
+    }
+}
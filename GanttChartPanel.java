@@ -1,84 +1,315 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+// Zoomable, pannable Gantt chart. Only the visible time window is drawn: the first visible slice is found
+// by binary search over the slice start times, and when zoomed out so far that slices are narrower than a
+// pixel, each pixel column is drawn as a density band shaded by how busy the CPU was in that column.
+// Either way at most a few draw calls per pixel column are made, however long the schedule is.
+//
+// The chart is rendered in fixed-width tiles that are cached per zoom level, so scrolling only blits
+// images and just the tiles newly scrolled into view are drawn.
+//
+// Mouse wheel zooms around the cursor in powers of two, dragging pans, double-click fits the whole schedule.
 class GanttChartPanel extends JPanel {
-    private final List<String> ganttChart;
-    private final List<Integer> timeMarkers;
+    private static final int HEADER_Y = 20;     // Baseline of the visible range caption
+    private static final int BAR_Y = 50;        // Top of the process bars
+    private static final int BAR_HEIGHT = 50;   // Height of each process bar
+    private static final int AXIS_Y = 100;      // Top of the time axis
+    private static final int MIN_TICK_SPACING = 70; // Minimum pixels between time axis labels
+    private static final int MIN_ZOOM_LEVEL = -40;
+    private static final int MAX_ZOOM_LEVEL = 6;    // At most 64 pixels per time unit
+    private static final int TILE_WIDTH = 256;
+    private static final int MAX_CACHED_TILES = 48; // About 7 MB for a 150 pixel high chart
+    private static final int LABEL_MARGIN = 80;     // Axis labels may spill this far into the next tile
 
-    public GanttChartPanel(List<String> ganttChart, List<Integer> timeMarkers) {
-        this.ganttChart = ganttChart;
-        this.timeMarkers = timeMarkers;
+    // Density band shades, from an idle column (light) to a fully busy one (dark)
+    private static final Color[] DENSITY_COLORS = new Color[17];
+
+    static {
+        for (int i = 0; i < DENSITY_COLORS.length; i++) {
+            float busy = i / (float) (DENSITY_COLORS.length - 1);
+            DENSITY_COLORS[i] = new Color(
+                    Math.round(225 - 175 * busy), Math.round(225 - 145 * busy), Math.round(230 - 80 * busy));
+        }
+    }
+
+    // Process colors depend only on the low 8 bits of the process ID, so they are created once up front
+    private static final Color[] PROCESS_COLORS = new Color[256];
+
+    static {
+        for (int i = 0; i < PROCESS_COLORS.length; i++) {
+            int r = (i * 50 + 100) % 256;
+            int g = (i * 80 + 50) % 256;
+            int b = (i * 110 + 150) % 256;
+            PROCESS_COLORS[i] = new Color(r, g, b);
+        }
+    }
+
+    private ScheduleTrace trace;
+    private int zoomLevel = 0;          // The scale is 2^zoomLevel pixels per time unit
+    private double viewStart = 0;       // Time at the left edge of the panel
+    private boolean fitToWidth = true;  // Until the user zooms or pans, the whole schedule is kept in view
+
+    // Rendered tiles keyed by zoom level and tile index, least recently used first
+    private final Map<Long, BufferedImage> tiles = new LinkedHashMap<Long, BufferedImage>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+    private int tileHeight = -1;
+
+    public GanttChartPanel(ScheduleTrace trace) {
+        this.trace = trace;
+
+        MouseAdapter mouseHandler = new MouseAdapter() {
+            private int lastDragX;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastDragX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                panBy(lastDragX - e.getX());
+                lastDragX = e.getX();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoomAround(e.getX(), e.getWheelRotation() < 0 ? 1 : -1);
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    fitToWidth = true;
+                    repaint();
+                }
+            }
+        };
+        addMouseListener(mouseHandler);
+        addMouseMotionListener(mouseHandler);
+        addMouseWheelListener(mouseHandler);
+    }
+
+    // Zooms in (steps > 0) or out by powers of two, keeping the time under pixel x in place
+    public void zoomAround(int x, int steps) {
+        int newZoomLevel = Math.max(MIN_ZOOM_LEVEL, Math.min(MAX_ZOOM_LEVEL, zoomLevel + steps));
+        double timeAtX = viewStart + x / pixelsPerTimeUnit();
+        zoomLevel = newZoomLevel;
+        viewStart = timeAtX - x / pixelsPerTimeUnit();
+        fitToWidth = false;
+        clampView();
+        repaint();
+    }
+
+    // Scrolls the view by the given number of pixels (positive moves later in time)
+    public void panBy(int pixels) {
+        viewStart += pixels / pixelsPerTimeUnit();
+        fitToWidth = false;
+        clampView();
+        repaint();
+    }
+
+    private double pixelsPerTimeUnit() {
+        return Math.scalb(1.0, zoomLevel);
+    }
+
+    // Largest power-of-two scale at which the whole schedule fits in the panel
+    private void fitView() {
+        int endTime = Math.max(1, trace.getEndTime());
+        zoomLevel = Math.max(MIN_ZOOM_LEVEL, Math.min(MAX_ZOOM_LEVEL,
+                Math.getExponent(Math.max(1, getWidth()) / (double) endTime)));
+        viewStart = 0;
+    }
+
+    // Drops every rendered tile, e.g. after the trace has changed
+    void clearTileCache() {
+        tiles.clear();
+    }
+
+    // Shows a newer trace of the same schedule, e.g. more of a run that is still going
+    void setTrace(ScheduleTrace trace) {
+        this.trace = trace;
+        tiles.clear();
+        repaint();
+    }
+
+    private void clampView() {
+        double visibleTime = getWidth() / pixelsPerTimeUnit();
+        viewStart = Math.max(0, Math.min(viewStart, trace.getEndTime() - visibleTime / 2));
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (fitToWidth) {
+            fitView();
+        }
 
-        // Panel dimensions
         int panelWidth = getWidth();
-        int panelHeight = getHeight();
-        int barHeight = 50;  // Height of each process bar
-        int spaceBetweenBars = 15;  // Increased space between bars for better readability
-        int timeMarkerHeight = 20; // Height for time markers
-
-        // Calculate the total execution time for scaling
-        int totalExecutionTime = timeMarkers.isEmpty() ? 1 : timeMarkers.get(timeMarkers.size() - 1);
-        int barWidth = (totalExecutionTime == 0) ? panelWidth / ganttChart.size() : panelWidth / totalExecutionTime;  // Bar width based on execution time
-
-        int currentX = 0;  // X-coordinate for drawing bars
-
-        // Draw background gridlines
-        g.setColor(Color.LIGHT_GRAY);
-        for (int i = 0; i < timeMarkers.size(); i++) {
-            int x = timeMarkers.get(i) * barWidth;
-            g.drawLine(x, 0, x, panelHeight - timeMarkerHeight);
+        double scale = pixelsPerTimeUnit();
+        double viewEnd = viewStart + panelWidth / scale;
+        if (getHeight() != tileHeight) {
+            tiles.clear();
+            tileHeight = getHeight();
         }
 
-        // Draw process bars
-        for (int i = 0; i < ganttChart.size(); i++) {
-            String processName = ganttChart.get(i);
+        // Tile i covers pixels [i * TILE_WIDTH, (i + 1) * TILE_WIDTH) of the whole chart at this zoom level
+        long viewStartPixel = Math.round(viewStart * scale);
+        long firstTile = Math.floorDiv(viewStartPixel, TILE_WIDTH);
+        long lastTile = Math.floorDiv(viewStartPixel + panelWidth - 1, TILE_WIDTH);
+        for (long tile = firstTile; tile <= lastTile; tile++) {
+            g.drawImage(getTile(tile, scale), (int) (tile * TILE_WIDTH - viewStartPixel), 0, null);
+        }
 
-            // Set color for each process bar
-            g.setColor(getProcessColor(processName));
-            int startTime = (i == 0) ? 0 : timeMarkers.get(i - 1);  // Start time for current process bar
-            int endTime = timeMarkers.get(i);  // End time for current process bar
-            int barEndX = currentX + (endTime - startTime) * barWidth;
+        // Caption with the visible time range
+        g.setColor(Color.DARK_GRAY);
+        g.drawString(String.format("Time %d - %d of %d   (wheel: zoom, drag: pan, double-click: fit)",
+                (long) viewStart, (long) Math.min(viewEnd, trace.getEndTime()), trace.getEndTime()), 5, HEADER_Y);
+    }
 
-            // Draw the process bar (rectangle)
-            g.fillRect(currentX, 50, barEndX - currentX, barHeight);
+    private BufferedImage getTile(long tileIndex, double scale) {
+        long key = ((long) zoomLevel << 40) ^ tileIndex;
+        BufferedImage tile = tiles.get(key);
+        if (tile == null) {
+            GraphicsConfiguration configuration = getGraphicsConfiguration();
+            tile = configuration != null
+                    ? configuration.createCompatibleImage(TILE_WIDTH, tileHeight)
+                    : new BufferedImage(TILE_WIDTH, tileHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = tile.createGraphics();
+            try {
+                g.setFont(getFont());
+                g.setColor(getBackground());
+                g.fillRect(0, 0, TILE_WIDTH, tileHeight);
+                double tileStart = tileIndex * TILE_WIDTH / scale;
+                drawTimeAxis(g, tileStart, TILE_WIDTH, scale);
+                drawBars(g, tileStart, TILE_WIDTH, scale);
+            } finally {
+                g.dispose();
+            }
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    // Draws the bars of the window starting at time windowStart, windowWidth pixels wide
+    private void drawBars(Graphics g, double windowStart, int windowWidth, double scale) {
+        double windowEnd = windowStart + windowWidth / scale;
+        FontMetrics metrics = g.getFontMetrics();
+        int labelY = BAR_Y + (BAR_HEIGHT + metrics.getAscent()) / 2;
+        int drawnUpTo = Integer.MIN_VALUE; // Pixel columns left of this have already been drawn
+
+        int index = Math.max(0, trace.findSlice((long) Math.floor(windowStart)));
+        while (index < trace.size() && trace.getStartTime(index) < windowEnd) {
+            double startX = (trace.getStartTime(index) - windowStart) * scale;
+            double endX = (trace.getEndTime(index) - windowStart) * scale;
+
+            if (endX <= startX) {
+                index++; // Zero-length slice, nothing to draw
+                continue;
+            }
+            if (endX - startX >= 1) {
+                // Wide enough to draw as its own bar, clipped to the panel
+                int left = (int) Math.max(Math.round(startX), Math.max(drawnUpTo, -1));
+                int right = (int) Math.min(Math.round(endX), windowWidth + 1L);
+                if (right > left) {
+                    g.setColor(getProcessColor(trace.getProcessId(index)));
+                    g.fillRect(left, BAR_Y, right - left, BAR_HEIGHT);
 
-            // Draw process name in the middle of the bar
-            g.setColor(Color.WHITE);
-            g.drawString(processName, currentX + (barEndX - currentX) / 4, 75);  // Center text inside the bar
+                    // The label is centered on the whole bar, so a bar split across tiles gets one label
+                    double center = (startX + endX) / 2;
+                    if (center > -windowWidth && center < 2.0 * windowWidth) {
+                        String label = trace.getLabel(index);
+                        int labelWidth = metrics.stringWidth(label);
+                        if (labelWidth + 4 <= endX - startX) {
+                            g.setColor(Color.WHITE);
+                            g.drawString(label, (int) Math.round(center - labelWidth / 2.0), labelY);
+                        }
+                    }
+                    drawnUpTo = right;
+                }
+                index++;
+                continue;
+            }
 
-            // Update currentX for next process
-            currentX = barEndX + spaceBetweenBars;
+            // Sub-pixel slice: aggregate everything in this pixel column into one density band
+            int column = Math.max((int) Math.floor(startX), drawnUpTo);
+            if (column >= windowWidth) {
+                break;
+            }
+            long columnStart = (long) Math.floor(windowStart + column / scale);
+            long columnEnd = (long) Math.floor(windowStart + (column + 1) / scale);
+            if (columnEnd > columnStart) {
+                double busy = (trace.getBusyTimeBefore(columnEnd) - trace.getBusyTimeBefore(columnStart))
+                        / (double) (columnEnd - columnStart);
+                g.setColor(DENSITY_COLORS[(int) Math.round(busy * (DENSITY_COLORS.length - 1))]);
+                g.fillRect(column, BAR_Y, 1, BAR_HEIGHT);
+            }
+            drawnUpTo = column + 1;
+
+            // Continue with the slice running at the end of the column, or the next one after it
+            int next = Math.max(0, trace.findSlice(columnEnd));
+            if (next < trace.size() && trace.getEndTime(next) <= columnEnd) {
+                next++;
+            }
+            index = Math.max(index, next);
         }
+    }
 
-        // Draw time markers below the bars with vertical lines and labels
-        int markerX = 0;  // Starting X-coordinate for time markers
-        g.setColor(Color.BLACK);  // Set color for time markers
-        for (int i = 0; i < timeMarkers.size(); i++) {
-            int timeMarkerX = markerX + timeMarkers.get(i) * barWidth;
+    // Light gridlines and labelled markers at round time intervals across the window. Markers just
+    // outside it are drawn too, so labels that straddle a tile border are complete on both sides.
+    private void drawTimeAxis(Graphics g, double windowStart, int windowWidth, double scale) {
+        long step = tickStep(scale);
+        long firstTick = (long) Math.ceil(Math.max(0, windowStart - LABEL_MARGIN / scale) / step) * step;
+        long endTime = trace.getEndTime();
 
-            // Draw a vertical line for the time marker
-            g.drawLine(timeMarkerX, 100, timeMarkerX, 120);
+        for (long time = firstTick; time <= endTime; time += step) {
+            int x = (int) Math.round((time - windowStart) * scale);
+            if (x > windowWidth + LABEL_MARGIN) {
+                break;
+            }
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawLine(x, BAR_Y - 5, x, BAR_Y + BAR_HEIGHT);
 
-            // Draw the time label below the time marker
+            // Draw a vertical line for the time marker and its label below it
             g.setColor(Color.BLACK);
-            g.drawString(String.valueOf(timeMarkers.get(i)), timeMarkerX - 5, 135);  // Draw the time value below the marker
+            g.drawLine(x, AXIS_Y, x, AXIS_Y + 20);
+            g.drawString(String.valueOf(time), x - 5, AXIS_Y + 35);
+        }
+    }
 
-            markerX = timeMarkerX;
+    // Smallest interval of the form 1, 2 or 5 times a power of ten that keeps the labels readable
+    private static long tickStep(double scale) {
+        double minStep = MIN_TICK_SPACING / scale;
+        long magnitude = 1;
+        while (true) {
+            if (magnitude >= minStep) {
+                return magnitude;
+            }
+            if (2 * magnitude >= minStep) {
+                return 2 * magnitude;
+            }
+            if (5 * magnitude >= minStep) {
+                return 5 * magnitude;
+            }
+            magnitude *= 10;
         }
     }
 
     // Helper method to assign colors to each process bar
-    private Color getProcessColor(String processName) {
-        int processId = Integer.parseInt(processName.replace("P", ""));  // Get process number
-        int r = (processId * 50 + 100) % 256;
-        int g = (processId * 80 + 50) % 256;
-        int b = (processId * 110 + 150) % 256;
-        return new Color(r, g, b);  // Return a unique color for each process
+    private static Color getProcessColor(int processId) {
+        if (processId == ScheduleTrace.IDLE) {
+            return Color.GRAY;  // Idle gaps are drawn in a neutral color
+        }
+        return PROCESS_COLORS[processId & 0xFF];  // A unique color for each process
     }
 }
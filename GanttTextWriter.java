@@ -0,0 +1,228 @@
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+// Streams the text forms of a Gantt chart to a Writer or a WritableByteChannel. Everything is formatted
+// straight into one fixed-size buffer that is handed to the destination whenever it fills up, so
+// exporting any number of slices takes constant memory and no intermediate Strings.
+//
+// Also usable as a ScheduleSink, writing one row per slice as a streaming simulation produces them.
+public final class GanttTextWriter implements ScheduleSink, Flushable, Closeable {
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private final Writer writer;               // Exactly one of writer and channel is set
+    private final WritableByteChannel channel;
+    private final char[] buffer = new char[CHUNK_SIZE];
+    private final ByteBuffer bytes;            // Only used for channels; all output is ASCII
+    private int position = 0;
+
+    public GanttTextWriter(Writer writer) {
+        this.writer = writer;
+        this.channel = null;
+        this.bytes = null;
+    }
+
+    public GanttTextWriter(WritableByteChannel channel) {
+        this.writer = null;
+        this.channel = channel;
+        this.bytes = ByteBuffer.allocate(CHUNK_SIZE);
+    }
+
+    // "P1 -> P2 -> IDLE -> P1"
+    public void writeChain(ScheduleTrace trace) throws IOException {
+        for (int i = 0; i < trace.size(); i++) {
+            if (i > 0) {
+                append(" -> ");
+            }
+            appendLabel(trace.getProcessId(i));
+        }
+        append('\n');
+    }
+
+    // "[3, 5, 9]": the end time of every slice
+    public void writeMarkers(ScheduleTrace trace) throws IOException {
+        append('[');
+        for (int i = 0; i < trace.size(); i++) {
+            if (i > 0) {
+                append(", ");
+            }
+            appendInt(trace.getEndTime(i));
+        }
+        append("]\n");
+    }
+
+    // Fixed-width chart: a line of process blocks with the time markers aligned below it
+    public void writeChart(ScheduleTrace trace) throws IOException {
+        append('|');
+        for (int i = 0; i < trace.size(); i++) {
+            append(' ');
+            pad(7 - appendLabel(trace.getProcessId(i))); // Process name in a fixed-width block
+            append('|');
+        }
+        append('\n');
+
+        append(' '); // One space before the first number
+        int twoDigitCount = 0;
+        for (int i = 0; i <= trace.size(); i++) {
+            // The first marker is the start of the schedule, every other marker is the end of a slice
+            int marker = (i == 0) ? (trace.isEmpty() ? 0 : trace.getStartTime(0)) : trace.getEndTime(i - 1);
+            if (marker >= 10) {
+                twoDigitCount++;
+            }
+            // Column widths that keep the markers under the block borders: 8 and 10 for the first two
+            // markers, then 11, narrowing to 9 once two-digit markers take the extra room
+            int width = (i == 0) ? 8 : (i == 1) ? 10 : (twoDigitCount >= 2) ? 9 : 11;
+            pad(width - appendInt(marker));
+        }
+        append('\n');
+    }
+
+    // "| P1 | P2 | " over "0    3    5    "
+    public void writeSimpleChart(ScheduleTrace trace) throws IOException {
+        append("| ");
+        for (int i = 0; i < trace.size(); i++) {
+            appendLabel(trace.getProcessId(i));
+            append(" | ");
+        }
+        append("\n0    ");
+        for (int i = 0; i < trace.size(); i++) {
+            appendInt(trace.getEndTime(i));
+            append("    ");
+        }
+        append('\n');
+    }
+
+    // One "P1 0 3" row per slice
+    public void writeRows(ScheduleTrace trace) throws IOException {
+        for (int i = 0; i < trace.size(); i++) {
+            writeRow(trace.getProcessId(i), trace.getStartTime(i), trace.getEndTime(i));
+        }
+    }
+
+    public void writeRow(int processId, int start, int end) throws IOException {
+        appendLabel(processId);
+        append(' ');
+        appendInt(start);
+        append(' ');
+        appendInt(end);
+        append('\n');
+    }
+
+    // Writes any text, e.g. headings between the sections
+    public void write(String text) throws IOException {
+        append(text);
+    }
+
+    @Override
+    public void onSlice(int processId, int start, int end) {
+        try {
+            writeRow(processId, start, end);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void onCompletion(int processId, int arrivalTime, int burstTime, int priority, int finishingTime) {
+        // Only the slices are part of the chart
+    }
+
+    // Hands the buffered text to the destination and flushes it
+    @Override
+    public void flush() throws IOException {
+        drain();
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        } finally {
+            if (writer != null) {
+                writer.close();
+            } else {
+                channel.close();
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        if (position == 0) {
+            return;
+        }
+        if (writer != null) {
+            writer.write(buffer, 0, position);
+        } else {
+            bytes.clear();
+            for (int i = 0; i < position; i++) {
+                bytes.put((byte) buffer[i]);
+            }
+            bytes.flip();
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+        position = 0;
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+    }
+
+    private void append(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            append(text.charAt(i));
+        }
+    }
+
+    private void pad(int spaces) throws IOException {
+        for (int i = 0; i < spaces; i++) {
+            append(' ');
+        }
+    }
+
+    // Writes "P<id>" or "IDLE" and returns its length
+    private int appendLabel(int processId) throws IOException {
+        if (processId == ScheduleTrace.IDLE) {
+            append("IDLE");
+            return 4;
+        }
+        append('P');
+        return 1 + appendInt(processId);
+    }
+
+    // Writes the decimal digits of value without creating a String and returns how many chars were written
+    private int appendInt(int value) throws IOException {
+        if (buffer.length - position < 11) { // Longest int: "-2147483648"
+            drain();
+        }
+        int start = position;
+        long remaining = value;
+        if (remaining < 0) {
+            buffer[position++] = '-';
+            remaining = -remaining;
+        }
+        int digitsStart = position;
+        do {
+            buffer[position++] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        // Digits were produced least significant first
+        for (int i = digitsStart, j = position - 1; i < j; i++, j--) {
+            char swap = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = swap;
+        }
+        return position - start;
+    }
+}
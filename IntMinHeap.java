@@ -0,0 +1,121 @@
+import java.util.Arrays;
+
+// Indexed binary min-heap of process indices in [0, capacity), ordered by a caller-supplied comparator
+// over per-run arrays. The heap remembers where each index sits, so a process whose key changed can
+// be moved in O(log n) (decrease-key) or removed without rebuilding the heap.
+class IntMinHeap {
+    // Compares two process indices, like Comparator but for primitive ints
+    interface IntComparator {
+        int compare(int a, int b);
+    }
+
+    private final IntComparator comparator;
+    private final int[] heap;
+    private final int[] positions; // Heap position of every index, or -1 when it is not in the heap
+    private int size = 0;
+
+    IntMinHeap(IntComparator comparator, int capacity) {
+        this.comparator = comparator;
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    void add(int value) {
+        if (positions[value] >= 0) {
+            throw new IllegalStateException("Index " + value + " is already in the heap");
+        }
+        siftUp(size++, value);
+    }
+
+    int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    int poll() {
+        int top = peek();
+        removeAt(0);
+        return top;
+    }
+
+    boolean contains(int value) {
+        return positions[value] >= 0;
+    }
+
+    // Restores the heap order after the key of value changed in either direction
+    void update(int value) {
+        int position = positions[value];
+        if (position < 0) {
+            throw new IllegalStateException("Index " + value + " is not in the heap");
+        }
+        siftUp(position, value);
+        if (positions[value] == position) {
+            siftDown(position, value);
+        }
+    }
+
+    // Removes value if it is in the heap
+    void remove(int value) {
+        int position = positions[value];
+        if (position >= 0) {
+            removeAt(position);
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void removeAt(int position) {
+        int removed = heap[position];
+        positions[removed] = -1;
+        int last = heap[--size];
+        if (position < size) {
+            siftDown(position, last);
+            if (positions[last] == position) {
+                siftUp(position, last);
+            }
+        }
+    }
+
+    private void siftUp(int position, int value) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (comparator.compare(value, heap[parent]) >= 0) {
+                break;
+            }
+            place(position, heap[parent]);
+            position = parent;
+        }
+        place(position, value);
+    }
+
+    private void siftDown(int position, int value) {
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            int right = child + 1;
+            if (right < size && comparator.compare(heap[right], heap[child]) < 0) {
+                child = right;
+            }
+            if (comparator.compare(value, heap[child]) <= 0) {
+                break;
+            }
+            place(position, heap[child]);
+            position = child;
+        }
+        place(position, value);
+    }
+
+    private void place(int position, int value) {
+        heap[position] = value;
+        positions[value] = position;
+    }
+}
@@ -0,0 +1,82 @@
+import java.util.Arrays;
+
+// Growable FIFO queue of ints backed by a ring buffer, used for ready queues of process indices. A value
+// can also be put back at the head, e.g. for a process that was preempted before its turn was over.
+class IntQueue {
+    private int[] elements;
+    private int head = 0;
+    private int size = 0;
+
+    IntQueue() {
+        this(16);
+    }
+
+    IntQueue(int initialCapacity) {
+        elements = new int[Math.max(initialCapacity, 2)];
+    }
+
+    void add(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        int tail = head + size;
+        if (tail >= elements.length) {
+            tail -= elements.length;
+        }
+        elements[tail] = value;
+        size++;
+    }
+
+    void addFirst(int value) {
+        if (size == elements.length) {
+            grow();
+        }
+        head = head == 0 ? elements.length - 1 : head - 1;
+        elements[head] = value;
+        size++;
+    }
+
+    int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        int value = elements[head];
+        head++;
+        if (head == elements.length) {
+            head = 0;
+        }
+        size--;
+        return value;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void grow() {
+        int[] grown = new int[elements.length * 2];
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, grown, 0, firstPart);
+        System.arraycopy(elements, 0, grown, firstPart, size - firstPart);
+        elements = grown;
+        head = 0;
+    }
+
+    // The queued values from head to tail
+    int[] toArray() {
+        int[] copy = new int[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = elements[(head + i) % elements.length];
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,284 @@
+import java.util.Arrays;
+
+// Red-black tree of process indices in [0, capacity), ordered by a primitive long key given when the index
+// is added. Nodes are the indices themselves: children, parent, color and key live in arrays sized once,
+// so adding and removing allocate nothing. Equal keys keep insertion order, like a FIFO. The leftmost
+// node is cached, so peeking at the smallest key is O(1) and polling it is O(log n).
+class IntRedBlackTree {
+    private static final boolean RED = true;
+    private static final boolean BLACK = false;
+
+    private final int nil; // Sentinel: black leaf below every node, and parent of the root
+    private final int[] left;
+    private final int[] right;
+    private final int[] parent;
+    private final boolean[] colors;
+    private final boolean[] members;
+    private final long[] keys;
+    private int root;
+    private int leftmost;
+    private int size = 0;
+
+    IntRedBlackTree(int capacity) {
+        this.nil = capacity;
+        this.left = new int[capacity + 1];
+        this.right = new int[capacity + 1];
+        this.parent = new int[capacity + 1];
+        this.colors = new boolean[capacity + 1];
+        this.members = new boolean[capacity];
+        this.keys = new long[capacity + 1];
+        Arrays.fill(colors, BLACK);
+        this.root = nil;
+        this.leftmost = nil;
+    }
+
+    void add(int value, long key) {
+        if (members[value]) {
+            throw new IllegalStateException("Index " + value + " is already in the tree");
+        }
+        keys[value] = key;
+        left[value] = nil;
+        right[value] = nil;
+        colors[value] = RED;
+        members[value] = true;
+
+        // Equal keys go right, behind the values added before
+        int above = nil;
+        int node = root;
+        boolean isLeftmost = true;
+        while (node != nil) {
+            above = node;
+            if (key < keys[node]) {
+                node = left[node];
+            } else {
+                node = right[node];
+                isLeftmost = false;
+            }
+        }
+        parent[value] = above;
+        if (above == nil) {
+            root = value;
+        } else if (key < keys[above]) {
+            left[above] = value;
+        } else {
+            right[above] = value;
+        }
+        if (isLeftmost) {
+            leftmost = value;
+        }
+        size++;
+        fixAfterAdd(value);
+    }
+
+    // Value with the smallest key
+    int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Tree is empty");
+        }
+        return leftmost;
+    }
+
+    long peekKey() {
+        return keys[peek()];
+    }
+
+    int poll() {
+        int first = peek();
+        remove(first);
+        return first;
+    }
+
+    boolean contains(int value) {
+        return members[value];
+    }
+
+    void remove(int value) {
+        if (!members[value]) {
+            throw new IllegalStateException("Index " + value + " is not in the tree");
+        }
+        if (value == leftmost) {
+            // The leftmost node has no left child, so the next one is the minimum of its right subtree
+            // or, failing that, its parent
+            leftmost = right[value] != nil ? minimum(right[value]) : parent[value];
+        }
+
+        boolean removedColor = colors[value];
+        int replacement;
+        if (left[value] == nil) {
+            replacement = right[value];
+            transplant(value, replacement);
+        } else if (right[value] == nil) {
+            replacement = left[value];
+            transplant(value, replacement);
+        } else {
+            // Two children: the successor takes the node's place
+            int successor = minimum(right[value]);
+            removedColor = colors[successor];
+            replacement = right[successor];
+            if (parent[successor] == value) {
+                parent[replacement] = successor;
+            } else {
+                transplant(successor, replacement);
+                right[successor] = right[value];
+                parent[right[successor]] = successor;
+            }
+            transplant(value, successor);
+            left[successor] = left[value];
+            parent[left[successor]] = successor;
+            colors[successor] = colors[value];
+        }
+        members[value] = false;
+        size--;
+        if (removedColor == BLACK) {
+            fixAfterRemove(replacement);
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int minimum(int node) {
+        while (left[node] != nil) {
+            node = left[node];
+        }
+        return node;
+    }
+
+    private void transplant(int node, int replacement) {
+        int above = parent[node];
+        if (above == nil) {
+            root = replacement;
+        } else if (node == left[above]) {
+            left[above] = replacement;
+        } else {
+            right[above] = replacement;
+        }
+        parent[replacement] = above; // Also for the sentinel, which fixAfterRemove walks up from
+    }
+
+    private void fixAfterAdd(int node) {
+        while (colors[parent[node]] == RED) {
+            int above = parent[node];
+            int grandparent = parent[above];
+            if (above == left[grandparent]) {
+                int uncle = right[grandparent];
+                if (colors[uncle] == RED) {
+                    colors[above] = BLACK;
+                    colors[uncle] = BLACK;
+                    colors[grandparent] = RED;
+                    node = grandparent;
+                } else {
+                    if (node == right[above]) {
+                        node = above;
+                        rotateLeft(node);
+                        above = parent[node];
+                    }
+                    colors[above] = BLACK;
+                    colors[grandparent] = RED;
+                    rotateRight(grandparent);
+                }
+            } else {
+                int uncle = left[grandparent];
+                if (colors[uncle] == RED) {
+                    colors[above] = BLACK;
+                    colors[uncle] = BLACK;
+                    colors[grandparent] = RED;
+                    node = grandparent;
+                } else {
+                    if (node == left[above]) {
+                        node = above;
+                        rotateRight(node);
+                        above = parent[node];
+                    }
+                    colors[above] = BLACK;
+                    colors[grandparent] = RED;
+                    rotateLeft(grandparent);
+                }
+            }
+        }
+        colors[root] = BLACK;
+    }
+
+    private void fixAfterRemove(int node) {
+        while (node != root && colors[node] == BLACK) {
+            int above = parent[node];
+            if (node == left[above]) {
+                int sibling = right[above];
+                if (colors[sibling] == RED) {
+                    colors[sibling] = BLACK;
+                    colors[above] = RED;
+                    rotateLeft(above);
+                    sibling = right[above];
+                }
+                if (colors[left[sibling]] == BLACK && colors[right[sibling]] == BLACK) {
+                    colors[sibling] = RED;
+                    node = above;
+                } else {
+                    if (colors[right[sibling]] == BLACK) {
+                        colors[left[sibling]] = BLACK;
+                        colors[sibling] = RED;
+                        rotateRight(sibling);
+                        sibling = right[above];
+                    }
+                    colors[sibling] = colors[above];
+                    colors[above] = BLACK;
+                    colors[right[sibling]] = BLACK;
+                    rotateLeft(above);
+                    node = root;
+                }
+            } else {
+                int sibling = left[above];
+                if (colors[sibling] == RED) {
+                    colors[sibling] = BLACK;
+                    colors[above] = RED;
+                    rotateRight(above);
+                    sibling = left[above];
+                }
+                if (colors[left[sibling]] == BLACK && colors[right[sibling]] == BLACK) {
+                    colors[sibling] = RED;
+                    node = above;
+                } else {
+                    if (colors[left[sibling]] == BLACK) {
+                        colors[right[sibling]] = BLACK;
+                        colors[sibling] = RED;
+                        rotateLeft(sibling);
+                        sibling = left[above];
+                    }
+                    colors[sibling] = colors[above];
+                    colors[above] = BLACK;
+                    colors[left[sibling]] = BLACK;
+                    rotateRight(above);
+                    node = root;
+                }
+            }
+        }
+        colors[node] = BLACK;
+    }
+
+    private void rotateLeft(int node) {
+        int child = right[node];
+        right[node] = left[child];
+        if (left[child] != nil) {
+            parent[left[child]] = node;
+        }
+        transplant(node, child);
+        left[child] = node;
+        parent[node] = child;
+    }
+
+    private void rotateRight(int node) {
+        int child = left[node];
+        left[node] = right[child];
+        if (right[child] != nil) {
+            parent[right[child]] = node;
+        }
+        transplant(node, child);
+        right[child] = node;
+        parent[node] = child;
+    }
+}
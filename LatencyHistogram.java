@@ -0,0 +1,149 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Fixed-memory histogram of non-negative int times (waiting, response or turnaround) for percentile
+// reports. Values below 256 are counted exactly. Above that, every power-of-two range is split into 128
+// equal buckets, so a reported percentile is within 1/128 (0.8%) of the true value whatever the size of
+// the run. The bucket of a value is found with a leading-zero count, and two histograms merge by adding
+// their counts, so runs can be recorded separately (or in parallel) and combined afterwards.
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;          // Buckets per power of two
+    private static final int EXACT_LIMIT = 2 * SUB_BUCKETS;                // Values below this are exact
+    private static final int BUCKET_COUNT = bucketOf(Integer.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long sum = 0;
+    private int min = Integer.MAX_VALUE;
+    private int max = 0;
+
+    // Negative values, which no schedule produces, are counted as 0
+    public void record(int value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    // Adds every value recorded by the other histogram to this one
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    // Writes the non-empty buckets as (index, count) pairs, for a checkpoint file
+    void write(DataOutput out) throws IOException {
+        int usedBuckets = 0;
+        for (long bucketCount : counts) {
+            if (bucketCount != 0) {
+                usedBuckets++;
+            }
+        }
+        out.writeInt(usedBuckets);
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (counts[i] != 0) {
+                out.writeInt(i);
+                out.writeLong(counts[i]);
+            }
+        }
+        out.writeLong(count);
+        out.writeLong(sum);
+        out.writeInt(min);
+        out.writeInt(max);
+    }
+
+    // Reads back what write stored, replacing the values recorded so far
+    void read(DataInput in) throws IOException {
+        clear();
+        int usedBuckets = in.readInt();
+        for (int i = 0; i < usedBuckets; i++) {
+            int bucket = in.readInt();
+            if (bucket < 0 || bucket >= BUCKET_COUNT) {
+                throw new IOException("Invalid histogram bucket " + bucket);
+            }
+            counts[bucket] = in.readLong();
+        }
+        count = in.readLong();
+        sum = in.readLong();
+        min = in.readInt();
+        max = in.readInt();
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        min = Integer.MAX_VALUE;
+        max = 0;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public int getMax() {
+        return max;
+    }
+
+    // Exact mean, from the running sum
+    public double getMean() {
+        return (double) sum / count;
+    }
+
+    // Smallest value that at least the given percentage (0 to 100) of the recorded values do not exceed,
+    // rounded up to the end of its bucket but never above the largest recorded value
+    public int getPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(getMin(), Math.min(max, highestValueIn(i)));
+            }
+        }
+        return max;
+    }
+
+    // "p50 12, p90 40, p99 97, p99.9 180, max 212"
+    public String formatPercentiles() {
+        return "p50 " + getPercentile(50) + ", p90 " + getPercentile(90) + ", p99 " + getPercentile(99)
+                + ", p99.9 " + getPercentile(99.9) + ", max " + getMax();
+    }
+
+    // Bucket index: the value itself below EXACT_LIMIT, otherwise SUB_BUCKETS buckets per power of two
+    private static int bucketOf(int value) {
+        if (value < EXACT_LIMIT) {
+            return value;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (value >>> shift);
+    }
+
+    private static int highestValueIn(int bucket) {
+        if (bucket < EXACT_LIMIT) {
+            return bucket;
+        }
+        int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        int subBucket = bucket - (shift << SUB_BUCKET_BITS);
+        return (int) ((((long) subBucket + 1) << shift) - 1);
+    }
+}
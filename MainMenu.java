@@ -8,46 +8,30 @@ public class MainMenu {
         // Create the main frame
         JFrame frame = new JFrame("CPU Scheduling Simulator");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setSize(600, 500);
+        frame.setSize(600, 560);
         frame.setLayout(new BorderLayout());
 
         // Create a title panel with gradient background
-        JPanel titlePanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                Color color1 = new Color(70, 130, 180);
-                Color color2 = new Color(240, 248, 255);
-                GradientPaint gradient = new GradientPaint(0, 0, color1, getWidth(), getHeight(), color2);
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
-        titlePanel.setLayout(new BorderLayout());
-        titlePanel.setPreferredSize(new Dimension(frame.getWidth(), 100));
-
-        JLabel titleLabel = new JLabel("CPU Scheduling Simulator", JLabel.CENTER);
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 28));
-        titleLabel.setForeground(Color.WHITE);
-        titlePanel.add(titleLabel, BorderLayout.CENTER);
+        JPanel titlePanel = Styles.titlePanel("CPU Scheduling Simulator", 100, 28);
         frame.add(titlePanel, BorderLayout.NORTH);
 
         // Create buttons for algorithm selection with a modern look
         JPanel buttonPanel = new JPanel();
-        buttonPanel.setLayout(new GridLayout(4, 1, 10, 10));
+        buttonPanel.setLayout(new GridLayout(5, 1, 10, 10));
         buttonPanel.setBorder(BorderFactory.createEmptyBorder(20, 50, 20, 50));
 
-        JButton roundRobinButton = createStyledButton("Round Robin");
-        JButton srtButton = createStyledButton("Shortest Remaining Time (SRT)");
-        JButton sjnButton = createStyledButton("Shortest Job Next (SJN)");
-        JButton nonPreemptivePriorityButton = createStyledButton("Non-Preemptive Priority");
+        JButton roundRobinButton = Styles.button("Round Robin");
+        JButton srtButton = Styles.button("Shortest Remaining Time (SRT)");
+        JButton sjnButton = Styles.button("Shortest Job Next (SJN)");
+        JButton nonPreemptivePriorityButton = Styles.button("Non-Preemptive Priority");
+        JButton compareButton = Styles.button("Compare All Algorithms");
 
         // Add buttons to the panel
         buttonPanel.add(roundRobinButton);
         buttonPanel.add(srtButton);
         buttonPanel.add(sjnButton);
         buttonPanel.add(nonPreemptivePriorityButton);
+        buttonPanel.add(compareButton);
 
         frame.add(buttonPanel, BorderLayout.CENTER);
 
@@ -68,9 +52,13 @@ public class MainMenu {
         srtButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                // Handle SJN button click
-                JOptionPane.showMessageDialog(frame, "SRT Algorithm is under construction.", "SRT",
-                        JOptionPane.INFORMATION_MESSAGE);
+                // Handle SRT button click
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        new ShortestRemainingTimeGUI(); // Open the SRT GUI
+                    }
+                });
             }
         });
 
@@ -91,8 +79,25 @@ public class MainMenu {
             @Override
             public void actionPerformed(ActionEvent e) {
                 // Handle Non-Preemptive Priority button click
-                JOptionPane.showMessageDialog(frame, "Non-Preemptive Priority Algorithm is under construction.",
-                        "Non-Preemptive Priority", JOptionPane.INFORMATION_MESSAGE);
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        new NonPreemptivePriorityGUI(); // Open the Non-Preemptive Priority GUI
+                    }
+                });
+            }
+        });
+
+        compareButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // Handle Compare button click
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        new ComparisonGUI(); // Open the comparison GUI
+                    }
+                });
             }
         });
 
@@ -109,18 +114,4 @@ public class MainMenu {
         frame.setLocationRelativeTo(null); // Center the frame on screen
         frame.setVisible(true);
     }
-
-    // Helper method to create styled buttons
-    private static JButton createStyledButton(String text) {
-        JButton button = new JButton(text);
-        button.setFocusPainted(false);
-        button.setFont(new Font("Arial", Font.PLAIN, 18));
-        button.setBackground(new Color(70, 130, 180));
-        button.setForeground(Color.WHITE);
-        button.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(30, 70, 120), 2),
-                BorderFactory.createEmptyBorder(10, 15, 10, 15)));
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        return button;
-    }
 }
@@ -0,0 +1,152 @@
+import java.util.Arrays;
+
+// Outcome of scheduling a workload on several cores: one schedule trace and busy time per core, plus
+// per-process and average metrics over all cores. Per-process values are indexed like the workload.
+public class MultiCoreResult {
+    private final Workload workload;
+    private final ScheduleTrace[] traces;
+    private final long[] busyTimes;
+    private final int[] lastDispatched;
+    private final int[] finishingTimes;
+    private final int[] firstStartTimes; // -1 until the process first runs
+    private final ScheduleSummary summary = new ScheduleSummary();
+
+    MultiCoreResult(Workload workload, int cores, boolean recordTrace) {
+        this.workload = workload;
+        this.traces = recordTrace ? new ScheduleTrace[cores] : null;
+        if (recordTrace) {
+            for (int core = 0; core < cores; core++) {
+                traces[core] = new ScheduleTrace();
+            }
+        }
+        this.busyTimes = new long[cores];
+        this.lastDispatched = new int[cores];
+        Arrays.fill(lastDispatched, -1);
+        this.finishingTimes = new int[workload.size()];
+        this.firstStartTimes = new int[workload.size()];
+        Arrays.fill(firstStartTimes, -1);
+    }
+
+    // Called by the simulation when the process at the given workload index runs on a core from start to end
+    void recordSlice(int core, int index, int start, int end) {
+        if (lastDispatched[core] != index) {
+            if (lastDispatched[core] >= 0) {
+                summary.recordContextSwitch();
+            }
+            lastDispatched[core] = index;
+            if (firstStartTimes[index] < 0) {
+                firstStartTimes[index] = start;
+            }
+        }
+        busyTimes[core] += end - start;
+        if (traces != null) {
+            traces[core].add(workload.processIds[index], start, end);
+        }
+    }
+
+    // Called by the simulation when a core has nothing to run between start and end
+    void recordIdle(int core, int start, int end) {
+        if (traces != null) {
+            traces[core].add(ScheduleTrace.IDLE, start, end);
+        }
+    }
+
+    void recordCompletion(int index, int finishingTime) {
+        finishingTimes[index] = finishingTime;
+        summary.recordCompletion(workload.arrivalTimes[index], workload.burstTimes[index], firstStartTimes[index], finishingTime);
+    }
+
+    // Takes over the single-core schedule of one core; members maps its workload indices to this workload
+    void addCoreResult(int core, ScheduleResult coreResult, int[] members) {
+        Workload coreWorkload = coreResult.getWorkload();
+        for (int i = 0; i < members.length; i++) {
+            finishingTimes[members[i]] = coreResult.getFinishingTime(i);
+            firstStartTimes[members[i]] = coreWorkload.arrivalTimes[i] + coreResult.getResponseTime(i);
+            busyTimes[core] += coreWorkload.burstTimes[i];
+        }
+        if (traces != null) {
+            traces[core] = coreResult.getScheduleTrace();
+        }
+        summary.merge(coreResult.getSummary());
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    public int getCoreCount() {
+        return busyTimes.length;
+    }
+
+    // The recorded schedule of one core, or null when the run was made without trace recording
+    public ScheduleTrace getScheduleTrace(int core) {
+        return traces == null ? null : traces[core];
+    }
+
+    // Time the core spent running processes
+    public long getBusyTime(int core) {
+        return busyTimes[core];
+    }
+
+    // Fraction of the makespan the core spent running processes
+    public double getUtilization(int core) {
+        return getMakespan() == 0 ? 0 : (double) busyTimes[core] / getMakespan();
+    }
+
+    // Fraction of the total core time up to the makespan that was spent running processes
+    public double getAverageUtilization() {
+        long totalBusyTime = 0;
+        for (long busyTime : busyTimes) {
+            totalBusyTime += busyTime;
+        }
+        return getMakespan() == 0 ? 0 : (double) totalBusyTime / ((double) getMakespan() * busyTimes.length);
+    }
+
+    // Totals and averages over all completed processes
+    public ScheduleSummary getSummary() {
+        return summary;
+    }
+
+    public int getFinishingTime(int index) {
+        return finishingTimes[index];
+    }
+
+    public int getTurnaroundTime(int index) {
+        return finishingTimes[index] - workload.arrivalTimes[index];
+    }
+
+    public int getWaitingTime(int index) {
+        return getTurnaroundTime(index) - workload.burstTimes[index];
+    }
+
+    // Time from arrival until the process first ran on any core
+    public int getResponseTime(int index) {
+        return firstStartTimes[index] - workload.arrivalTimes[index];
+    }
+
+    public int getCompletedProcesses() {
+        return (int) summary.getCompletedProcesses();
+    }
+
+    // Number of times a core was handed to a different process than the one that ran on it before
+    public long getContextSwitches() {
+        return summary.getContextSwitches();
+    }
+
+    // Time at which the last process finished
+    public int getMakespan() {
+        return summary.getMakespan();
+    }
+
+    public double getAverageTurnaroundTime() {
+        return summary.getAverageTurnaroundTime();
+    }
+
+    public double getAverageWaitingTime() {
+        return summary.getAverageWaitingTime();
+    }
+
+    public double getAverageResponseTime() {
+        return summary.getAverageResponseTime();
+    }
+}
@@ -0,0 +1,464 @@
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+// Round Robin or Non-Preemptive SJF on several identical cores. With a single core every mode runs the
+// processes exactly when RoundRobinScheduler or NonPreemptiveSJFScheduler would.
+//
+// Queue modes:
+// - GLOBAL: all cores take work from one shared ready queue, the lowest-numbered idle core first.
+// - PER_CORE: each arriving process is placed on the core with the least outstanding work and stays
+//   there. The cores are then independent, so each one is simulated as a single-core schedule of its
+//   own processes, all cores in parallel on the fork-join pool. This is the only mode that uses more
+//   than one thread.
+// - WORK_STEALING: per-core queues as above, but a core that runs out of work takes the next process
+//   from the core with the most waiting processes.
+//
+// The global and work-stealing modes are event driven: the next event is the earliest slice end, kept
+// in an indexed heap over the cores, or the next arrival while a core is idle. They run on the calling
+// thread, since every event changes queues that the other cores take work from.
+public class MultiCoreScheduler {
+    public enum QueueMode { GLOBAL, PER_CORE, WORK_STEALING }
+
+    private final int cores;
+    private final int timeQuantum; // 0 for Non-Preemptive SJF
+    private final QueueMode queueMode;
+
+    private MultiCoreScheduler(int cores, int timeQuantum, QueueMode queueMode) {
+        if (cores <= 0) {
+            throw new IllegalArgumentException("Number of cores must be positive: " + cores);
+        }
+        this.cores = cores;
+        this.timeQuantum = timeQuantum;
+        this.queueMode = queueMode;
+    }
+
+    public static MultiCoreScheduler roundRobin(int cores, int timeQuantum, QueueMode queueMode) {
+        if (timeQuantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+        }
+        return new MultiCoreScheduler(cores, timeQuantum, queueMode);
+    }
+
+    public static MultiCoreScheduler shortestJobFirst(int cores, QueueMode queueMode) {
+        return new MultiCoreScheduler(cores, 0, queueMode);
+    }
+
+    public int getCores() {
+        return cores;
+    }
+
+    public QueueMode getQueueMode() {
+        return queueMode;
+    }
+
+    public String getName() {
+        String mode = queueMode == QueueMode.GLOBAL ? "global queue"
+                : queueMode == QueueMode.PER_CORE ? "per-core queues" : "work stealing";
+        return singleCoreScheduler().getName() + ", " + cores + " cores, " + mode;
+    }
+
+    public MultiCoreResult run(Workload workload) {
+        return run(workload, true);
+    }
+
+    public MultiCoreResult run(Workload workload, boolean recordTrace) {
+        if (workload.hasIoBursts()) {
+            throw new IllegalArgumentException("Multi-core scheduling does not model I/O bursts");
+        }
+        if (queueMode == QueueMode.PER_CORE) {
+            return runPartitioned(workload, recordTrace);
+        }
+        return new Simulation(workload, recordTrace).run();
+    }
+
+    private Scheduler singleCoreScheduler() {
+        return timeQuantum > 0 ? new RoundRobinScheduler(timeQuantum) : new NonPreemptiveSJFScheduler();
+    }
+
+    // Per-core queues without stealing: assign every process to a core up front, then schedule the
+    // cores independently and in parallel
+    private MultiCoreResult runPartitioned(Workload workload, boolean recordTrace) {
+        int n = workload.size();
+        int[] arrivalTimes = workload.arrivalTimes;
+        int[] burstTimes = workload.burstTimes;
+        int[] arrivalOrder = workload.arrivalOrder;
+
+        // Cores are work conserving, so each core's outstanding work is known without simulating it:
+        // the core drains at max(drain time, arrival) + burst. New processes join the core that drains first.
+        long[] drainTimes = new long[cores];
+        IntMinHeap leastLoaded = new IntMinHeap((a, b) -> {
+            int order = Long.compare(drainTimes[a], drainTimes[b]);
+            return order != 0 ? order : Integer.compare(a, b);
+        }, cores);
+        for (int core = 0; core < cores; core++) {
+            leastLoaded.add(core);
+        }
+        int[] coreOf = new int[n];
+        int[] coreSizes = new int[cores];
+        for (int i = 0; i < n; i++) {
+            int process = arrivalOrder[i];
+            if (timeQuantum == 0 && burstTimes[process] == 0) {
+                coreOf[process] = -1; // SJF has nothing to run for it, so it belongs to no core
+                continue;
+            }
+            int core = leastLoaded.peek();
+            drainTimes[core] = Math.max(drainTimes[core], arrivalTimes[process]) + burstTimes[process];
+            leastLoaded.update(core);
+            coreOf[process] = core;
+            coreSizes[core]++;
+        }
+
+        // Split the workload, keeping input order within each core so ties break the same way
+        int[][] members = new int[cores][];
+        for (int core = 0; core < cores; core++) {
+            members[core] = new int[coreSizes[core]];
+        }
+        int[] filled = new int[cores];
+        for (int process = 0; process < n; process++) {
+            int core = coreOf[process];
+            if (core >= 0) {
+                members[core][filled[core]++] = process;
+            }
+        }
+
+        Scheduler scheduler = singleCoreScheduler();
+        ScheduleResult[] coreResults = new ScheduleResult[cores];
+        IntStream.range(0, cores).parallel().forEach(core -> {
+            int[] indices = members[core];
+            int[] processIds = new int[indices.length];
+            int[] coreArrivalTimes = new int[indices.length];
+            int[] coreBurstTimes = new int[indices.length];
+            int[] priorities = new int[indices.length];
+            for (int i = 0; i < indices.length; i++) {
+                processIds[i] = workload.processIds[indices[i]];
+                coreArrivalTimes[i] = arrivalTimes[indices[i]];
+                coreBurstTimes[i] = burstTimes[indices[i]];
+                priorities[i] = workload.priorities[indices[i]];
+            }
+            coreResults[core] = scheduler.run(new Workload(processIds, coreArrivalTimes, coreBurstTimes, priorities), recordTrace);
+        });
+
+        MultiCoreResult result = new MultiCoreResult(workload, cores, recordTrace);
+        for (int core = 0; core < cores; core++) {
+            result.addCoreResult(core, coreResults[core], members[core]);
+        }
+        return result;
+    }
+
+    // Event-driven simulation of the shared-queue and work-stealing modes
+    private final class Simulation {
+        private final Workload workload;
+        private final MultiCoreResult result;
+        private final int[] remainingTimes;
+        private final boolean shared = queueMode == QueueMode.GLOBAL;
+        private final boolean stealing = queueMode == QueueMode.WORK_STEALING;
+
+        // Ready queues: one shared queue, or one per core. Per-core processes that arrive while their core
+        // is busy wait in arrived[core] and join its queue behind the process the core preempts next,
+        // the same order a single-core Round Robin uses.
+        private final ReadyQueue[] queues;
+        private final IntQueue[] arrived;
+
+        private final int[] running;     // Process on each core, or -1
+        private final int[] sliceEnds;   // End of the current slice on each busy core
+        private final int[] lastEnds;    // End of the last slice on each core, to record idle gaps
+        private final IntMinHeap busyCores;   // Busy cores by slice end, then core number
+        private final BitSet idleCores;
+        private final IntQueue freedCores = new IntQueue(); // Per-core modes: cores to hand work to now
+
+        private final long[] drainTimes;      // Time each core would run out of work; per-core modes
+        private final IntMinHeap leastLoaded; // Cores by drain time, for placing arrivals
+        private final int[] waiting;          // Processes waiting on each core, queued or arrived
+        private final IntMinHeap mostWaiting; // Cores by waiting processes, descending, for stealing
+
+        private int currentTime = 0;
+
+        Simulation(Workload workload, boolean recordTrace) {
+            this.workload = workload;
+            this.result = new MultiCoreResult(workload, cores, recordTrace);
+            this.remainingTimes = workload.burstTimes.clone();
+
+            int[] arrivalTimes = workload.arrivalTimes;
+            int[] burstTimes = workload.burstTimes;
+            int[] priorities = workload.priorities;
+            int[] processIds = workload.processIds;
+            IntMinHeap.IntComparator shortestJobFirst = (a, b) -> {
+                int order = Integer.compare(burstTimes[a], burstTimes[b]);
+                if (order == 0) {
+                    order = Integer.compare(priorities[a], priorities[b]);
+                }
+                if (order == 0) {
+                    order = Integer.compare(arrivalTimes[a], arrivalTimes[b]);
+                }
+                if (order == 0) {
+                    order = Integer.compare(processIds[a], processIds[b]);
+                }
+                return order;
+            };
+            queues = new ReadyQueue[shared ? 1 : cores];
+            for (int i = 0; i < queues.length; i++) {
+                queues[i] = timeQuantum > 0 ? new FifoQueue() : new ShortestJobQueue(shortestJobFirst);
+            }
+
+            running = new int[cores];
+            Arrays.fill(running, -1);
+            sliceEnds = new int[cores];
+            lastEnds = new int[cores];
+            busyCores = new IntMinHeap((a, b) -> {
+                int order = Integer.compare(sliceEnds[a], sliceEnds[b]);
+                return order != 0 ? order : Integer.compare(a, b);
+            }, cores);
+            idleCores = new BitSet(cores);
+            idleCores.set(0, cores);
+
+            if (shared) {
+                arrived = null;
+                drainTimes = null;
+                leastLoaded = null;
+                waiting = null;
+                mostWaiting = null;
+            } else {
+                arrived = new IntQueue[cores];
+                drainTimes = new long[cores];
+                waiting = new int[cores];
+                leastLoaded = new IntMinHeap((a, b) -> {
+                    int order = Long.compare(drainTimes[a], drainTimes[b]);
+                    return order != 0 ? order : Integer.compare(a, b);
+                }, cores);
+                mostWaiting = new IntMinHeap((a, b) -> {
+                    int order = Integer.compare(waiting[b], waiting[a]);
+                    return order != 0 ? order : Integer.compare(a, b);
+                }, cores);
+                for (int core = 0; core < cores; core++) {
+                    arrived[core] = new IntQueue();
+                    leastLoaded.add(core);
+                    mostWaiting.add(core);
+                }
+            }
+        }
+
+        MultiCoreResult run() {
+            int[] arrivalTimes = workload.arrivalTimes;
+            int[] arrivalOrder = workload.arrivalOrder;
+            int n = workload.size();
+            int nextArrival = 0;
+            int handledProcesses = 0;
+
+            while (handledProcesses < n) {
+                // Next event: the earliest slice end, or the next arrival while a core has nothing to do
+                long nextTime = busyCores.isEmpty() ? Long.MAX_VALUE : sliceEnds[busyCores.peek()];
+                if (nextArrival < n && !idleCores.isEmpty()) {
+                    nextTime = Math.min(nextTime, arrivalTimes[arrivalOrder[nextArrival]]);
+                }
+                currentTime = (int) nextTime;
+
+                // Slices ending now: finished processes complete, preempted ones go back in line
+                while (!busyCores.isEmpty() && sliceEnds[busyCores.peek()] == currentTime) {
+                    int core = busyCores.poll();
+                    int process = running[core];
+                    running[core] = -1;
+                    if (remainingTimes[process] == 0) {
+                        result.recordCompletion(process, currentTime);
+                        handledProcesses++;
+                    } else {
+                        enqueue(shared ? 0 : core, process);
+                    }
+                    if (shared) {
+                        idleCores.set(core);
+                    } else {
+                        // Processes that arrived during the slice line up behind the preempted one
+                        while (!arrived[core].isEmpty()) {
+                            queues[core].add(arrived[core].poll());
+                        }
+                        freedCores.add(core);
+                    }
+                }
+
+                // Admit every process that has arrived by now, in arrival order
+                while (nextArrival < n && arrivalTimes[arrivalOrder[nextArrival]] <= currentTime) {
+                    int process = arrivalOrder[nextArrival++];
+                    if (timeQuantum == 0 && remainingTimes[process] == 0) {
+                        handledProcesses++; // Nothing to run, as in the single-core SJF scheduler
+                    } else if (shared) {
+                        queues[0].add(process);
+                    } else {
+                        admitToLeastLoadedCore(process);
+                    }
+                }
+
+                // Hand out work to the cores that are free now
+                if (shared) {
+                    for (int core = idleCores.nextSetBit(0); core >= 0 && !queues[0].isEmpty(); core = idleCores.nextSetBit(core + 1)) {
+                        idleCores.clear(core);
+                        dispatch(core, queues[0].poll());
+                    }
+                } else {
+                    while (!freedCores.isEmpty()) {
+                        int core = freedCores.poll();
+                        int process = takeWork(core);
+                        if (process >= 0) {
+                            dispatch(core, process);
+                        } else {
+                            idleCores.set(core);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private void admitToLeastLoadedCore(int process) {
+            int core = leastLoaded.peek();
+            drainTimes[core] = Math.max(drainTimes[core], workload.arrivalTimes[process]) + remainingTimes[process];
+            leastLoaded.update(core);
+            if (running[core] >= 0) {
+                arrived[core].add(process);
+                changeWaiting(core, 1);
+            } else {
+                enqueue(core, process);
+                if (idleCores.get(core)) {
+                    idleCores.clear(core);
+                    freedCores.add(core); // Dispatched once every arrival at this time is in its queue
+                }
+            }
+        }
+
+        // Next process for a free core: its own queue first, then (when stealing) another core's work
+        private int takeWork(int core) {
+            if (!queues[core].isEmpty()) {
+                changeWaiting(core, -1);
+                return queues[core].poll();
+            }
+            if (!stealing) {
+                return -1;
+            }
+            int victim = mostWaiting.peek();
+            if (waiting[victim] == 0) {
+                return -1;
+            }
+            int process = !queues[victim].isEmpty() ? queues[victim].poll() : arrived[victim].poll();
+            changeWaiting(victim, -1);
+
+            // The stolen work moves from the victim's drain time to this core's
+            drainTimes[victim] -= remainingTimes[process];
+            leastLoaded.update(victim);
+            drainTimes[core] = (long) currentTime + remainingTimes[process];
+            leastLoaded.update(core);
+            return process;
+        }
+
+        private void enqueue(int queue, int process) {
+            queues[queue].add(process);
+            if (!shared) {
+                changeWaiting(queue, 1);
+            }
+        }
+
+        private void changeWaiting(int core, int delta) {
+            waiting[core] += delta;
+            if (stealing) {
+                mostWaiting.update(core);
+            }
+        }
+
+        // Runs the process on the core for one quantum (Round Robin) or to completion (SJF)
+        private void dispatch(int core, int process) {
+            int slice = timeQuantum > 0 ? Math.min(timeQuantum, remainingTimes[process]) : remainingTimes[process];
+            if (currentTime > lastEnds[core]) {
+                result.recordIdle(core, lastEnds[core], currentTime);
+            }
+            result.recordSlice(core, process, currentTime, currentTime + slice);
+            remainingTimes[process] -= slice;
+            running[core] = process;
+            sliceEnds[core] = currentTime + slice;
+            lastEnds[core] = sliceEnds[core];
+            busyCores.add(core);
+        }
+    }
+
+    // Ready queue of process indices, FIFO for Round Robin or shortest job first for SJF
+    private interface ReadyQueue {
+        void add(int process);
+
+        int poll();
+
+        boolean isEmpty();
+    }
+
+    private static final class FifoQueue implements ReadyQueue {
+        private final IntQueue queue = new IntQueue();
+
+        @Override
+        public void add(int process) {
+            queue.add(process);
+        }
+
+        @Override
+        public int poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return queue.isEmpty();
+        }
+    }
+
+    // Growable binary heap; unlike IntMinHeap its memory follows the queue length rather than the
+    // workload size, which matters with one queue per core
+    private static final class ShortestJobQueue implements ReadyQueue {
+        private final IntMinHeap.IntComparator comparator;
+        private int[] heap = new int[16];
+        private int size = 0;
+
+        ShortestJobQueue(IntMinHeap.IntComparator comparator) {
+            this.comparator = comparator;
+        }
+
+        @Override
+        public void add(int process) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int position = size++;
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (comparator.compare(process, heap[parent]) >= 0) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                position = parent;
+            }
+            heap[position] = process;
+        }
+
+        @Override
+        public int poll() {
+            int top = heap[0];
+            int last = heap[--size];
+            int position = 0;
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && comparator.compare(heap[child + 1], heap[child]) < 0) {
+                    child++;
+                }
+                if (comparator.compare(heap[child], last) >= 0) {
+                    break;
+                }
+                heap[position] = heap[child];
+                position = child;
+            }
+            heap[position] = last;
+            return top;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+// Multilevel Feedback Queue scheduler: Round Robin on several ready queues, level 0 being the highest
+// priority. New processes enter level 0. A process that uses up the quantum of its level moves down one
+// level, so long CPU-bound jobs sink while short jobs finish at the top. The lowest level is plain Round
+// Robin. Every boost interval all waiting processes move back to level 0, so sunk jobs cannot starve.
+//
+// A process running below level 0 is preempted as soon as a new process arrives. It keeps its place at
+// the head of its level and the part of the quantum it has used, so it continues before the processes
+// that were waiting behind it.
+//
+// Each level is an IntQueue ring buffer, and the levels that hold processes are bits of one long, so the
+// highest non-empty level is a single numberOfTrailingZeros. Per-process state lives in int arrays sized
+// once per run, so the simulation allocates nothing once the ring buffers have reached their peak size.
+// Boosts are kernel timers on multiples of the boost interval; a boost that falls due while a slice
+// runs is applied when the CPU next looks for work. The running process is not cut short, but it is
+// boosted as well: by then it has been put back on its level, so the boost moves it with the others.
+// Only a process that completes or blocks for I/O with that slice is left out, having left the queues.
+public class MultilevelFeedbackQueueScheduler implements Scheduler {
+    static final int MAX_LEVELS = Long.SIZE;
+
+    private final int[] timeQuanta;   // Quantum of every level, highest priority first
+    private final int boostInterval;  // 0 disables priority boosts
+
+    public MultilevelFeedbackQueueScheduler(int[] timeQuanta, int boostInterval) {
+        if (timeQuanta.length == 0 || timeQuanta.length > MAX_LEVELS) {
+            throw new IllegalArgumentException("Number of levels must be between 1 and " + MAX_LEVELS + ": " + timeQuanta.length);
+        }
+        for (int timeQuantum : timeQuanta) {
+            if (timeQuantum <= 0) {
+                throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("Boost interval must not be negative: " + boostInterval);
+        }
+        this.timeQuanta = timeQuanta.clone();
+        this.boostInterval = boostInterval;
+    }
+
+    public int[] getTimeQuanta() {
+        return timeQuanta.clone();
+    }
+
+    public int getBoostInterval() {
+        return boostInterval;
+    }
+
+    @Override
+    public String getName() {
+        StringBuilder name = new StringBuilder("MLFQ (q=");
+        for (int level = 0; level < timeQuanta.length; level++) {
+            if (level > 0) {
+                name.append('/');
+            }
+            name.append(timeQuanta[level]);
+        }
+        if (boostInterval > 0) {
+            name.append(", boost=").append(boostInterval);
+        }
+        return name.append(')').toString();
+    }
+
+    @Override
+    public ScheduleResult run(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, listener);
+        return kernel.run(new Policy(kernel, timeQuanta, boostInterval));
+    }
+
+    private static final class Policy implements SchedulingPolicy {
+        private final SimulationKernel kernel;
+        private final int[] timeQuanta;
+        private final int boostInterval;
+        private final IntQueue[] queues;
+        private final int[] usedQuanta; // Part of its current level's quantum each process has used
+        private long activeLevels = 0;  // Bit i is set while queues[i] is not empty
+        private int runningLevel;       // Level of the process selected last
+        private boolean boostArmed = false;
+        private boolean boostDue = false;
+
+        Policy(SimulationKernel kernel, int[] timeQuanta, int boostInterval) {
+            this.kernel = kernel;
+            this.timeQuanta = timeQuanta;
+            this.boostInterval = boostInterval;
+            this.usedQuanta = new int[kernel.workload.size()];
+            this.queues = new IntQueue[timeQuanta.length];
+            for (int level = 0; level < queues.length; level++) {
+                queues[level] = new IntQueue();
+            }
+        }
+
+        // New processes enter the highest level
+        @Override
+        public void onArrival(int process) {
+            queues[0].add(process);
+            activeLevels |= 1L;
+            if (boostInterval > 0 && !boostArmed) {
+                // Boost timers stop while the CPU is idle, as a boost would have nothing to move
+                long nextBoost = ((long) kernel.currentTime / boostInterval + 1) * boostInterval;
+                if (nextBoost <= Integer.MAX_VALUE) {
+                    kernel.setTimer((int) nextBoost, 0);
+                    boostArmed = true;
+                }
+            }
+        }
+
+        // A process that gave up the CPU for I/O is treated as interactive and starts again at the top
+        @Override
+        public void onWakeup(int process, int readyTime) {
+            usedQuanta[process] = 0;
+            onArrival(process);
+        }
+
+        @Override
+        public int selectNext() {
+            if (boostDue) {
+                boost();
+                boostDue = false;
+            }
+            if (activeLevels == 0) {
+                return -1;
+            }
+            // Highest level with a waiting process
+            runningLevel = Long.numberOfTrailingZeros(activeLevels);
+            int process = queues[runningLevel].poll();
+            if (queues[runningLevel].isEmpty()) {
+                activeLevels &= ~(1L << runningLevel);
+            }
+            return process;
+        }
+
+        @Override
+        public int sliceLength(int process) {
+            return Math.min(timeQuanta[runningLevel] - usedQuanta[process], kernel.remainingTimes[process]);
+        }
+
+        @Override
+        public void onPreempted(int process, int ranTime) {
+            int level = runningLevel;
+            usedQuanta[process] += ranTime;
+            if (usedQuanta[process] < timeQuanta[level]) {
+                // Cut short by an arrival: back to the head of its level, to use the rest of its quantum
+                queues[level].addFirst(process);
+            } else {
+                // Used up its quantum: move down a level, with a fresh quantum there
+                level = Math.min(level + 1, timeQuanta.length - 1);
+                usedQuanta[process] = 0;
+                queues[level].add(process);
+            }
+            activeLevels |= 1L << level;
+        }
+
+        // A new arrival outranks every level below the top
+        @Override
+        public boolean preemptedByArrivals(int process) {
+            return runningLevel > 0;
+        }
+
+        @Override
+        public void onTimer(int value) {
+            if (activeLevels == 0 && kernel.running < 0) {
+                boostArmed = false; // Nothing in the system; the next arrival sets the timer again
+                return;
+            }
+            boostDue = true;
+            if ((long) kernel.currentTime + boostInterval <= Integer.MAX_VALUE) {
+                kernel.setTimer(kernel.currentTime + boostInterval, 0);
+            } else {
+                boostArmed = false;
+            }
+        }
+
+        // Moves every waiting process to level 0 with a fresh quantum, keeping the order of the levels
+        // and of the processes within each level
+        private void boost() {
+            IntQueue top = queues[0];
+            for (int i = top.size(); i > 0; i--) {
+                int process = top.poll();
+                usedQuanta[process] = 0;
+                top.add(process);
+            }
+            long lowerLevels = activeLevels & ~1L;
+            while (lowerLevels != 0) {
+                int level = Long.numberOfTrailingZeros(lowerLevels);
+                lowerLevels &= lowerLevels - 1;
+                IntQueue queue = queues[level];
+                while (!queue.isEmpty()) {
+                    int process = queue.poll();
+                    usedQuanta[process] = 0;
+                    top.add(process);
+                }
+            }
+            activeLevels = top.isEmpty() ? 0 : 1L;
+        }
+    }
+}
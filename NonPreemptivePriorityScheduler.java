@@ -0,0 +1,138 @@
+// Non-Preemptive Priority scheduler: when the CPU becomes free, the ready process with the highest
+// priority (lowest number) runs to completion. Ties go to the earliest arrival, then the lowest process ID.
+//
+// With aging enabled, a waiting process gains one priority level for every agingInterval ticks it
+// spends in the ready queue, up to the best priority in the workload. Aging deadlines are kernel
+// timers, so each aging step is a decrease-key on the ready queue instead of a rebuild, and every
+// event stays O(log n).
+public class NonPreemptivePriorityScheduler implements Scheduler {
+    private final int agingInterval;
+
+    // Plain priority scheduling without aging
+    public NonPreemptivePriorityScheduler() {
+        this(0);
+    }
+
+    // Priority scheduling where waiting processes gain one level every agingInterval ticks; 0 disables aging
+    public NonPreemptivePriorityScheduler(int agingInterval) {
+        if (agingInterval < 0) {
+            throw new IllegalArgumentException("Aging interval must not be negative: " + agingInterval);
+        }
+        this.agingInterval = agingInterval;
+    }
+
+    public int getAgingInterval() {
+        return agingInterval;
+    }
+
+    @Override
+    public String getName() {
+        return agingInterval > 0 ? "Non-Preemptive Priority (aging=" + agingInterval + ")" : "Non-Preemptive Priority";
+    }
+
+    @Override
+    public ScheduleResult run(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, listener);
+        return kernel.run(new Policy(kernel, agingInterval));
+    }
+
+    // Dispatches the highest-priority process and lets it run to completion
+    private static final class Policy implements SchedulingPolicy {
+        private final SimulationKernel kernel;
+        private final int agingInterval;
+        private final int[] effectivePriorities; // Only differs from the workload when aging is enabled
+        private final IntMinHeap readyQueue;
+        private final int[] nextAgingTimes;      // Next time each waiting process gains a level
+        private final int bestPriority;
+
+        Policy(SimulationKernel kernel, int agingInterval) {
+            this.kernel = kernel;
+            this.agingInterval = agingInterval;
+            Workload workload = kernel.workload;
+            int[] arrivalTimes = workload.arrivalTimes;
+            int[] processIds = workload.processIds;
+            int[] effectivePriorities = workload.priorities.clone();
+            this.effectivePriorities = effectivePriorities;
+
+            readyQueue = new IntMinHeap((a, b) -> {
+                int order = Integer.compare(effectivePriorities[a], effectivePriorities[b]);
+                if (order == 0) {
+                    order = Integer.compare(arrivalTimes[a], arrivalTimes[b]);
+                }
+                if (order == 0) {
+                    order = Integer.compare(processIds[a], processIds[b]);
+                }
+                return order;
+            }, workload.size());
+
+            nextAgingTimes = agingInterval > 0 ? new int[workload.size()] : null;
+            int best = Integer.MAX_VALUE;
+            for (int priority : effectivePriorities) {
+                best = Math.min(best, priority);
+            }
+            bestPriority = best;
+        }
+
+        @Override
+        public void onArrival(int process) {
+            if (kernel.remainingTimes[process] <= 0) {
+                kernel.discard(process); // Nothing to run for this process
+                return;
+            }
+            enqueue(process, kernel.workload.arrivalTimes[process]);
+        }
+
+        // Back from I/O: waits with its own priority again, aging from the end of its I/O burst
+        @Override
+        public void onWakeup(int process, int readyTime) {
+            effectivePriorities[process] = kernel.workload.priorities[process];
+            enqueue(process, readyTime);
+        }
+
+        @Override
+        public int selectNext() {
+            return readyQueue.isEmpty() ? -1 : readyQueue.poll();
+        }
+
+        @Override
+        public int sliceLength(int process) {
+            return kernel.remainingTimes[process];
+        }
+
+        @Override
+        public void onPreempted(int process, int ranTime) {
+            throw new IllegalStateException("Non-preemptive priority scheduling never gives up the CPU early");
+        }
+
+        @Override
+        public void onTimer(int process) {
+            // Timers of processes that have been dispatched since are stale
+            if (readyQueue.contains(process) && nextAgingTimes[process] == kernel.currentTime) {
+                age(process);
+            }
+        }
+
+        private void enqueue(int process, int readyTime) {
+            readyQueue.add(process);
+            if (agingInterval > 0 && effectivePriorities[process] > bestPriority) {
+                nextAgingTimes[process] = readyTime + agingInterval;
+                age(process);
+            }
+        }
+
+        // Applies every aging step that has fallen due (a process admitted late may have missed some),
+        // then sets a timer for the next one unless the process has reached the best priority
+        private void age(int process) {
+            int currentTime = kernel.currentTime;
+            if (nextAgingTimes[process] <= currentTime) {
+                int levels = (currentTime - nextAgingTimes[process]) / agingInterval + 1;
+                effectivePriorities[process] = Math.max(bestPriority, effectivePriorities[process] - levels);
+                readyQueue.update(process);
+                nextAgingTimes[process] += levels * agingInterval;
+            }
+            if (effectivePriorities[process] > bestPriority) {
+                kernel.setTimer(nextAgingTimes[process], process);
+            }
+        }
+    }
+}
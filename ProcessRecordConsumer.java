@@ -0,0 +1,16 @@
+import java.io.IOException;
+
+// Receives workload records one at a time from the trace readers, so a trace can be processed
+// without creating a Process object per row
+interface ProcessRecordConsumer {
+    void accept(int processId, int arrivalTime, int burstTime, int priority) throws IOException;
+
+    // A record with I/O: bursts holds count alternating CPU and I/O bursts, starting and ending with a CPU
+    // burst, and is reused for the next record. Consumers that only model pure CPU jobs reject it.
+    default void accept(int processId, int arrivalTime, int priority, int[] bursts, int count) throws IOException {
+        if (count != 1) {
+            throw new IOException("Process " + processId + " has I/O bursts, which " + getClass().getSimpleName() + " does not support");
+        }
+        accept(processId, arrivalTime, bursts[0], priority);
+    }
+}
@@ -0,0 +1,82 @@
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Headless Round Robin time quantum sweep. Schedules one workload once per quantum in the range,
+// running the simulations in parallel, and reports the metrics used to pick a production time slice.
+public final class QuantumSweep {
+
+    // Metrics of one Round Robin run
+    public static final class Row {
+        public final int timeQuantum;
+        public final double averageTurnaroundTime;
+        public final double averageWaitingTime;
+        public final int p99WaitingTime;
+        public final int p99ResponseTime;
+        public final long contextSwitches;
+
+        Row(int timeQuantum, ScheduleResult result) {
+            this.timeQuantum = timeQuantum;
+            this.averageTurnaroundTime = result.getAverageTurnaroundTime();
+            this.averageWaitingTime = result.getAverageWaitingTime();
+            this.p99WaitingTime = result.getSummary().getWaitingTimes().getPercentile(99);
+            this.p99ResponseTime = result.getSummary().getResponseTimes().getPercentile(99);
+            this.contextSwitches = result.getContextSwitches();
+        }
+    }
+
+    private QuantumSweep() {
+    }
+
+    // Runs the sweep on the common fork-join pool, which uses all available cores
+    public static List<Row> run(Workload workload, int fromQuantum, int toQuantum, int step) {
+        return sweep(workload, null, fromQuantum, toQuantum, step);
+    }
+
+    // Branches every run of the sweep from the same checkpoint instead of starting at time 0, e.g. to
+    // compare quanta for the second half of a day without replaying the first
+    public static List<Row> run(Workload workload, SimulationCheckpoint checkpoint, int fromQuantum, int toQuantum, int step) {
+        return sweep(workload, checkpoint, fromQuantum, toQuantum, step);
+    }
+
+    // Runs the sweep on a dedicated fork-join pool with the given number of worker threads
+    public static List<Row> run(Workload workload, int fromQuantum, int toQuantum, int step, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> sweep(workload, null, fromQuantum, toQuantum, step)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Row> sweep(Workload workload, SimulationCheckpoint checkpoint, int fromQuantum, int toQuantum, int step) {
+        if (fromQuantum <= 0 || toQuantum < fromQuantum || step <= 0) {
+            throw new IllegalArgumentException("Invalid quantum range " + fromQuantum + ".." + toQuantum + " step " + step);
+        }
+        int count = (toQuantum - fromQuantum) / step + 1;
+
+        // Each run only needs the metrics, so the Gantt chart trace is not recorded.
+        // The workload and the checkpoint are immutable and shared by all runs without copying.
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> {
+                    int timeQuantum = fromQuantum + i * step;
+                    RoundRobinScheduler scheduler = new RoundRobinScheduler(timeQuantum);
+                    ScheduleResult result = checkpoint == null ? scheduler.run(workload, false) : scheduler.resume(workload, checkpoint, false);
+                    return new Row(timeQuantum, result);
+                })
+                .collect(Collectors.toList());
+    }
+
+    // Prints the sweep as a fixed-width table, one line per quantum
+    public static void print(List<Row> rows, PrintStream out) {
+        out.printf("%10s %18s %16s %16s %16s %16s%n", "Quantum", "Avg Turnaround", "Avg Waiting", "p99 Waiting",
+                "p99 Response", "Context Switches");
+        for (Row row : rows) {
+            out.printf("%10d %18.2f %16.2f %16d %16d %16d%n", row.timeQuantum, row.averageTurnaroundTime,
+                    row.averageWaitingTime, row.p99WaitingTime, row.p99ResponseTime, row.contextSwitches);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,25 +12,7 @@ public class RoundRobinGUI extends JFrame {
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
 
         // Title panel setup
-        JPanel titlePanel = new JPanel() {
-            @Override
-            protected void paintComponent(Graphics g) {
-                super.paintComponent(g);
-                Graphics2D g2d = (Graphics2D) g;
-                Color color1 = new Color(70, 130, 180);
-                Color color2 = new Color(240, 248, 255);
-                GradientPaint gradient = new GradientPaint(0, 0, color1, getWidth(), getHeight(), color2);
-                g2d.setPaint(gradient);
-                g2d.fillRect(0, 0, getWidth(), getHeight());
-            }
-        };
-        titlePanel.setLayout(new BorderLayout());
-        titlePanel.setPreferredSize(new Dimension(getWidth(), 80));
-
-        JLabel titleLabel = new JLabel("Round Robin Scheduler", JLabel.CENTER);
-        titleLabel.setFont(new Font("Arial", Font.BOLD, 22));
-        titleLabel.setForeground(Color.WHITE);
-        titlePanel.add(titleLabel, BorderLayout.CENTER);
+        JPanel titlePanel = Styles.titlePanel("Round Robin Scheduler");
         add(titlePanel, BorderLayout.NORTH);
 
         // Input panel setup
@@ -44,7 +27,7 @@ public class RoundRobinGUI extends JFrame {
         inputPanel.add(new JLabel("Enter Number of Processes:"));
         inputPanel.add(processField);
 
-        JButton nextButton = createStyledButton("Next");
+        JButton nextButton = Styles.button("Next");
         inputPanel.add(nextButton);
 
         add(inputPanel, BorderLayout.CENTER);
@@ -67,12 +50,9 @@ public class RoundRobinGUI extends JFrame {
                     processes.add(new Process(i, arrivalTime, burstTime, priority));
                 }
 
-                // Pass the processes and time quantum to the scheduler
+                // Schedule the processes in the background, then show the result table
                 RoundRobinScheduler scheduler = new RoundRobinScheduler(timeQuantum);
-                scheduler.schedule(processes);
-
-                // Show the result table
-                showTableGUI(processes, scheduler);
+                ScheduleProgressFrame.run("Round Robin", scheduler, Workload.of(processes), this::showTableGUI);
 
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(this, "Invalid input. Please enter numeric values.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -82,53 +62,58 @@ public class RoundRobinGUI extends JFrame {
         setVisible(true); 
     }
 
-    private void showTableGUI(List<Process> processes, RoundRobinScheduler scheduler) {
+    private void showTableGUI(ScheduleResult result) {
         JFrame tableFrame = new JFrame("Round Robin Results");
         tableFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         tableFrame.setSize(800, 400);
 
-        String[] columns = {"Process", "Arrival Time", "Burst Time", "Priority", "Finishing Time", "Turnaround Time", "Waiting Time"};
-        DefaultTableModel model = new DefaultTableModel(columns, 0);
+        // Table reads straight from the result; click a column header to sort
+        ScheduleTableModel model = new ScheduleTableModel(result);
         JTable table = new JTable(model);
-
-        // Populate table
-        for (Process process : processes) {
-            int turnaroundTime = process.finishingTime - process.arrivalTime;
-            int waitingTime = turnaroundTime - process.burstTime;
-            model.addRow(new Object[]{
-                    "P" + process.processID,
-                    process.arrivalTime,
-                    process.burstTime,
-                    process.priority,
-                    process.finishingTime,
-                    turnaroundTime,
-                    waitingTime
-            });
-        }
+        model.installHeaderSorting(table);
 
         JScrollPane scrollPane = new JScrollPane(table);
         tableFrame.add(scrollPane, BorderLayout.CENTER);
 
-        JButton avgButton = createStyledButton("Show Averages and Gantt Chart");
+        JButton avgButton = Styles.button("Show Averages and Gantt Chart");
         tableFrame.add(avgButton, BorderLayout.SOUTH);
 
-        avgButton.addActionListener(e -> scheduler.showResults());
+        avgButton.addActionListener(e -> showResults(result));
 
         tableFrame.setVisible(true);
     }
 
-    private static JButton createStyledButton(String text) {
-        JButton button = new JButton(text);
-        button.setFocusPainted(false);
-        button.setFont(new Font("Arial", Font.PLAIN, 18));
-        button.setBackground(new Color(70, 130, 180));
-        button.setForeground(Color.WHITE);
-        button.setBorder(BorderFactory.createCompoundBorder(
-                BorderFactory.createLineBorder(new Color(30, 70, 120), 2),
-                BorderFactory.createEmptyBorder(10, 15, 10, 15)
-        ));
-        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
-        return button;
+    private static void showResults(ScheduleResult result) {
+        JFrame resultsFrame = new JFrame("Round Robin Results - Averages and Gantt Chart");
+        resultsFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        resultsFrame.setSize(600, 400);
+        resultsFrame.setLayout(new BorderLayout());
+
+        // Averages
+        double avgTurnaroundTime = result.getAverageTurnaroundTime();
+        double avgWaitingTime = result.getAverageWaitingTime();
+
+        JTextArea resultArea = new JTextArea();
+        resultArea.setEditable(false);
+        resultArea.setText("Average Turnaround Time: " + avgTurnaroundTime + "\n");
+        resultArea.append("Average Waiting Time: " + avgWaitingTime + "\n");
+        resultArea.append(result.getSummary().formatPercentiles() + "\n");
+
+        // Gantt Chart, time markers and simple Gantt Chart, streamed into the text area in chunks
+        ScheduleTrace trace = result.getScheduleTrace();
+        try (GanttTextWriter gantt = new GanttTextWriter(new TextAreaWriter(resultArea))) {
+            gantt.write("Gantt Chart:\n");
+            gantt.writeChain(trace);
+            gantt.write("Time Markers: ");
+            gantt.writeMarkers(trace);
+            gantt.write("\nSimple Gantt Chart:\n");
+            gantt.writeSimpleChart(trace);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Writing to a text area does not fail
+        }
+
+        resultsFrame.add(new JScrollPane(resultArea), BorderLayout.CENTER);
+        resultsFrame.setVisible(true);
     }
 
     public static void main(String[] args) {
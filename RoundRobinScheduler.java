@@ -1,95 +1,95 @@
-import javax.swing.*;
-import java.awt.*;
-import java.util.List;
-import java.util.*;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+public class RoundRobinScheduler implements Scheduler {
+    // Policy name recorded in checkpoints. The ready queue does not depend on the quantum, so a checkpoint
+    // can be resumed with any quantum.
+    static final String CHECKPOINT_POLICY = "rr";
 
-public class RoundRobinScheduler {
     private final int timeQuantum;
-    private final List<String> ganttChart = new ArrayList<>();
-    private final List<Integer> timeMarkers = new ArrayList<>();
-    private int totalTurnaroundTime = 0;
-    private int totalWaitingTime = 0;
 
     public RoundRobinScheduler(int timeQuantum) {
         this.timeQuantum = timeQuantum;
     }
 
-    public void schedule(List<Process> processes) {
-        Queue<Process> queue = new LinkedList<>();
-        int currentTime = 0;
+    public int getTimeQuantum() {
+        return timeQuantum;
+    }
 
-        // Sort processes by arrival time and priority
-        processes.sort(Comparator.comparingInt((Process p) -> p.arrivalTime)
-                                    .thenComparingInt(p -> p.priority)); // Sort by arrival time, then by priority
+    @Override
+    public String getName() {
+        return "Round Robin (q=" + timeQuantum + ")";
+    }
 
-        int index = 0;
-        while (index < processes.size() || !queue.isEmpty()) {
-            // Add processes to the queue based on arrival time
-            while (index < processes.size() && processes.get(index).arrivalTime <= currentTime) {
-                queue.add(processes.get(index));
-                index++;
-            }
+    @Override
+    public ScheduleResult run(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, listener);
+        return kernel.run(new Policy(kernel, timeQuantum));
+    }
 
-            if (!queue.isEmpty()) {
-                Process currentProcess = queue.poll();
-
-                if (currentProcess.remainingTime <= timeQuantum) {
-                    currentTime += currentProcess.remainingTime;
-                    currentProcess.remainingTime = 0;
-                    currentProcess.finishingTime = currentTime;
-
-                    ganttChart.add("P" + currentProcess.processID);
-                    timeMarkers.add(currentTime);
-
-                    totalTurnaroundTime += currentProcess.finishingTime - currentProcess.arrivalTime;
-                    totalWaitingTime += (currentProcess.finishingTime - currentProcess.arrivalTime - currentProcess.burstTime);
-                } else {
-                    currentProcess.remainingTime -= timeQuantum;
-                    currentTime += timeQuantum;
-
-                    ganttChart.add("P" + currentProcess.processID);
-                    timeMarkers.add(currentTime);
-                    queue.add(currentProcess);
-                }
-            } else {
-                // If no processes are ready to be scheduled, increment time to move forward
-                currentTime++;
-            }
-        }
+    // Runs like run(), handing a checkpoint to the consumer at the first point between two slices at or
+    // after each of the given simulated times
+    public ScheduleResult run(Workload workload, boolean recordTrace, int[] checkpointTimes,
+                              Consumer<SimulationCheckpoint> checkpoints) {
+        int[] times = checkpointTimes.clone();
+        Arrays.sort(times);
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, null);
+        kernel.takeCheckpoints(CHECKPOINT_POLICY, times, checkpoints);
+        return kernel.run(new Policy(kernel, timeQuantum));
+    }
+
+    // Continues a run of the same workload from a checkpoint. The metrics come out exactly as if the run
+    // had not been interrupted; the trace only covers the schedule after the checkpoint. The checkpoint
+    // is only read, so several runs, e.g. with different quanta, can be resumed from it in parallel.
+    public ScheduleResult resume(Workload workload, SimulationCheckpoint checkpoint, boolean recordTrace) {
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, null);
+        Policy policy = new Policy(kernel, timeQuantum);
+        kernel.restore(checkpoint, CHECKPOINT_POLICY, policy);
+        return kernel.run(policy);
     }
 
-    public void showResults() {
-        JFrame resultsFrame = new JFrame("Round Robin Results - Averages and Gantt Chart");
-        resultsFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
-        resultsFrame.setSize(600, 400);
-        resultsFrame.setLayout(new BorderLayout());
-
-        // Averages
-        double avgTurnaroundTime = (double) totalTurnaroundTime / timeMarkers.size();
-        double avgWaitingTime = (double) totalWaitingTime / timeMarkers.size();
-
-        JTextArea resultArea = new JTextArea();
-        resultArea.setEditable(false);
-        resultArea.setText("Average Turnaround Time: " + avgTurnaroundTime + "\n");
-        resultArea.append("Average Waiting Time: " + avgWaitingTime + "\n\n");
-
-        // Gantt Chart representation
-        resultArea.append("Gantt Chart:\n" + String.join(" -> ", ganttChart) + "\n");
-        resultArea.append("Time Markers: " + timeMarkers + "\n\n");
-
-        // Simple Gantt Chart representation
-        resultArea.append("Simple Gantt Chart:\n");
-        resultArea.append("| ");
-        for (String process : ganttChart) {
-            resultArea.append(process + " | ");
+    // FIFO ready queue; every process runs for at most one quantum and then goes to the back of the queue
+    private static final class Policy implements SchedulingPolicy {
+        private final SimulationKernel kernel;
+        private final int timeQuantum;
+        private final IntQueue queue = new IntQueue();
+
+        Policy(SimulationKernel kernel, int timeQuantum) {
+            this.kernel = kernel;
+            this.timeQuantum = timeQuantum;
         }
-        resultArea.append("\n");
-        resultArea.append("0    ");
-        for (int timeMarker : timeMarkers) {
-            resultArea.append(timeMarker + "    ");
+
+        @Override
+        public void onArrival(int process) {
+            queue.add(process);
         }
 
-        resultsFrame.add(new JScrollPane(resultArea), BorderLayout.CENTER);
-        resultsFrame.setVisible(true);
+        @Override
+        public int selectNext() {
+            return queue.isEmpty() ? -1 : queue.poll();
+        }
+
+        @Override
+        public int sliceLength(int process) {
+            return Math.min(timeQuantum, kernel.remainingTimes[process]);
+        }
+
+        @Override
+        public void onPreempted(int process, int ranTime) {
+            queue.add(process);
+        }
+
+        // The ready queue, front first
+        @Override
+        public int[] saveState() {
+            return queue.toArray();
+        }
+
+        @Override
+        public void restoreState(int[] state) {
+            for (int process : state) {
+                queue.add(process);
+            }
+        }
     }
 }
@@ -0,0 +1,85 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+// Window shown while a scheduler runs in the background: a progress bar with the simulated time, the
+// Gantt chart filling in live and a Cancel button. Runs that finish quickly never show it at all.
+public class ScheduleProgressFrame extends JFrame {
+    private static final int SHOW_DELAY_MILLIS = 300; // Only show the window for runs that take longer
+
+    private final JProgressBar progressBar;
+    private final JLabel statusLabel = new JLabel("Starting...", JLabel.CENTER);
+    private final GanttChartPanel ganttChartPanel;
+    private final ScheduleWorker worker;
+
+    // Schedules the workload in the background and passes the result to onFinished on the EDT
+    public static void run(String title, Scheduler scheduler, Workload workload, Consumer<ScheduleResult> onFinished) {
+        new ScheduleProgressFrame(title, scheduler, workload, onFinished);
+    }
+
+    private ScheduleProgressFrame(String title, Scheduler scheduler, Workload workload, Consumer<ScheduleResult> onFinished) {
+        super(title + " - " + scheduler.getName());
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setSize(800, 300);
+
+        worker = new ScheduleWorker(scheduler, workload) {
+            @Override
+            protected void onProgress(int simulatedTime, int completedProcesses) {
+                progressBar.setValue(completedProcesses);
+                statusLabel.setText("Simulated time " + simulatedTime + ": " + completedProcesses + " of "
+                        + workload.size() + " processes completed");
+                ganttChartPanel.setTrace(getLiveTrace());
+            }
+
+            @Override
+            protected void done() {
+                dispose();
+                if (isCancelled()) {
+                    return;
+                }
+                try {
+                    onFinished.accept(get());
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(null, "Scheduling failed: " + cause, "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        };
+
+        progressBar = new JProgressBar(0, Math.max(1, workload.size()));
+        progressBar.setStringPainted(true);
+        ganttChartPanel = new GanttChartPanel(worker.getLiveTrace());
+        ganttChartPanel.setPreferredSize(new Dimension(getWidth(), 150));
+
+        JPanel statusPanel = new JPanel(new BorderLayout(10, 10));
+        statusPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+        statusPanel.add(statusLabel, BorderLayout.NORTH);
+        statusPanel.add(progressBar, BorderLayout.CENTER);
+        add(statusPanel, BorderLayout.NORTH);
+        add(ganttChartPanel, BorderLayout.CENTER);
+
+        JButton cancelButton = Styles.button("Cancel");
+        cancelButton.addActionListener(e -> worker.cancel(true));
+        add(cancelButton, BorderLayout.SOUTH);
+
+        // Closing the window cancels the run as well
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                worker.cancel(true);
+            }
+        });
+
+        Timer showTimer = new Timer(SHOW_DELAY_MILLIS, e -> {
+            if (!worker.isDone()) {
+                setVisible(true);
+            }
+        });
+        showTimer.setRepeats(false);
+        showTimer.start();
+        worker.start();
+    }
+}
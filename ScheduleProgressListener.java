@@ -0,0 +1,9 @@
+// Receives progress reports from a running scheduler, on the thread doing the scheduling, about every
+// 50 ms of wall-clock time while the run lasts. Throwing an unchecked exception from a report, e.g. a
+// CancellationException, aborts the run.
+public interface ScheduleProgressListener {
+    // simulatedTime is the time the schedule has reached. trace holds the slices recorded so far, or is
+    // null when the run records no trace; it may only be read during the call, and its last slice can
+    // still be extended by the scheduler afterwards.
+    void onProgress(int simulatedTime, int completedProcesses, ScheduleTrace trace);
+}
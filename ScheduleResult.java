@@ -0,0 +1,173 @@
+import java.util.Arrays;
+
+// Outcome of a single scheduling run: the schedule trace plus per-process and average metrics.
+// Per-process values are indexed like the workload that was scheduled.
+public class ScheduleResult {
+    // Progress is reported about every PROGRESS_INTERVAL_NANOS of wall-clock time. The clock is read every
+    // PROGRESS_CHECK_SLICES slices, so a few processes with billions of slices report (and can be
+    // cancelled) as often as millions of short ones.
+    private static final int PROGRESS_CHECK_SLICES = 1024;
+    private static final long PROGRESS_INTERVAL_NANOS = 50_000_000L;
+
+    private final Workload workload;
+    private final ScheduleTrace trace;
+    private final int[] finishingTimes;
+    private final int[] firstStartTimes; // -1 until the process first runs
+    private final ScheduleSummary summary = new ScheduleSummary();
+    private final ScheduleProgressListener listener;
+    private int lastDispatched = -1;
+    private int slicesUntilProgressCheck = PROGRESS_CHECK_SLICES;
+    private long nextProgressNanos;
+    private long ioOverlapTime = 0; // I/O time during which the CPU ran another process
+
+    ScheduleResult(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        this.workload = workload;
+        this.trace = recordTrace ? new ScheduleTrace() : null;
+        this.finishingTimes = new int[workload.size()];
+        this.firstStartTimes = new int[workload.size()];
+        Arrays.fill(firstStartTimes, -1);
+        this.listener = listener;
+        if (listener != null) {
+            this.nextProgressNanos = System.nanoTime() + PROGRESS_INTERVAL_NANOS;
+        }
+    }
+
+    // Called by the schedulers when the process at the given workload index runs from start to end
+    void recordSlice(int index, int start, int end) {
+        if (lastDispatched != index) {
+            if (lastDispatched >= 0) {
+                summary.recordContextSwitch();
+            }
+            lastDispatched = index;
+            if (firstStartTimes[index] < 0) {
+                firstStartTimes[index] = start;
+            }
+        }
+        if (trace != null) {
+            trace.add(workload.processIds[index], start, end);
+        }
+        if (listener != null && --slicesUntilProgressCheck == 0) {
+            checkProgress(end);
+        }
+    }
+
+    // Called by the schedulers when the CPU has nothing to run between start and end
+    void recordIdle(int start, int end) {
+        if (trace != null) {
+            trace.add(ScheduleTrace.IDLE, start, end);
+        }
+    }
+
+    // Called by the schedulers when the process at the given workload index finishes
+    void recordCompletion(int index, int finishingTime) {
+        finishingTimes[index] = finishingTime;
+        summary.recordCompletion(workload.arrivalTimes[index], workload.burstTimes[index], workload.getIoTime(index),
+                firstStartTimes[index], finishingTime);
+    }
+
+    // Reports progress if the interval has passed since the last report
+    private void checkProgress(int simulatedTime) {
+        slicesUntilProgressCheck = PROGRESS_CHECK_SLICES;
+        long now = System.nanoTime();
+        if (now - nextProgressNanos >= 0) {
+            nextProgressNanos = now + PROGRESS_INTERVAL_NANOS;
+            listener.onProgress(simulatedTime, getCompletedProcesses(), trace);
+        }
+    }
+
+    // Called by the kernel when an I/O burst ends, with the part of it during which the CPU was busy
+    void recordIoOverlap(long overlapTime) {
+        ioOverlapTime += overlapTime;
+    }
+
+    // Continues the results of a checkpoint taken from a run of the same workload: the per-process results of
+    // every process that had arrived by then, and the running totals. The trace only covers what follows.
+    void restore(SimulationCheckpoint checkpoint) {
+        int[] arrivalOrder = workload.arrivalOrder;
+        for (int i = 0; i < checkpoint.nextArrival; i++) {
+            finishingTimes[arrivalOrder[i]] = checkpoint.finishingTimes[i];
+            firstStartTimes[arrivalOrder[i]] = checkpoint.firstStartTimes[i];
+        }
+        lastDispatched = checkpoint.lastDispatched;
+        summary.merge(checkpoint.summary);
+    }
+
+    // Process that ran last, or -1
+    int getLastDispatched() {
+        return lastDispatched;
+    }
+
+    // Time the process first ran, or -1
+    int getFirstStartTime(int index) {
+        return firstStartTimes[index];
+    }
+
+    public Workload getWorkload() {
+        return workload;
+    }
+
+    // The recorded schedule, or null when the run was made without trace recording
+    public ScheduleTrace getScheduleTrace() {
+        return trace;
+    }
+
+    // Totals and averages over all completed processes
+    public ScheduleSummary getSummary() {
+        return summary;
+    }
+
+    public int getFinishingTime(int index) {
+        return finishingTimes[index];
+    }
+
+    public int getTurnaroundTime(int index) {
+        return finishingTimes[index] - workload.arrivalTimes[index];
+    }
+
+    // Time spent ready but not running; time blocked on I/O does not count
+    public int getWaitingTime(int index) {
+        return getTurnaroundTime(index) - workload.burstTimes[index] - workload.getIoTime(index);
+    }
+
+    // Time from arrival until the process first ran
+    public int getResponseTime(int index) {
+        return firstStartTimes[index] - workload.arrivalTimes[index];
+    }
+
+    public int getCompletedProcesses() {
+        return (int) summary.getCompletedProcesses();
+    }
+
+    // Number of times the CPU was handed to a different process than the one that ran before it
+    public long getContextSwitches() {
+        return summary.getContextSwitches();
+    }
+
+    // Time at which the last process finished
+    public int getMakespan() {
+        return summary.getMakespan();
+    }
+
+    public double getAverageTurnaroundTime() {
+        return summary.getAverageTurnaroundTime();
+    }
+
+    public double getAverageWaitingTime() {
+        return summary.getAverageWaitingTime();
+    }
+
+    public double getAverageResponseTime() {
+        return summary.getAverageResponseTime();
+    }
+
+    // Fraction of the time up to the makespan that the CPU spent running processes
+    public double getCpuUtilization() {
+        return getMakespan() == 0 ? 0 : (double) summary.getTotalCpuTime() / getMakespan();
+    }
+
+    // Fraction of all I/O time during which the CPU was kept busy by other processes, or 0 without I/O
+    public double getIoOverlap() {
+        long ioTime = summary.getTotalIoTime();
+        return ioTime == 0 ? 0 : (double) ioOverlapTime / ioTime;
+    }
+}
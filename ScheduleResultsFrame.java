@@ -0,0 +1,50 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+// Results window shared by the schedulers: per-process table, averages, text Gantt chart and drawn Gantt chart.
+public class ScheduleResultsFrame extends JFrame {
+
+    public ScheduleResultsFrame(String title, ScheduleResult result) {
+        super(title); // Creating a new frame for the results.
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE); // Setting the close operation.
+        setSize(800, 650); // Setting the frame size.
+
+        // Table of per-process results, read straight from the result in the order the processes were entered.
+        ScheduleTableModel model = new ScheduleTableModel(result);
+        JTable table = new JTable(model); // Creating a table with the model.
+        model.installHeaderSorting(table); // Clicking a column header sorts by that column.
+
+        // Adding a scroll pane to the table for better display.
+        JScrollPane scrollPane = new JScrollPane(table);
+        add(scrollPane, BorderLayout.CENTER);
+
+        // Creating a text area for additional results.
+        JTextArea resultArea = new JTextArea();
+        resultArea.setEditable(false); // Making the text area non-editable.
+
+        // Calculating and displaying average turnaround and waiting times.
+        String averageTurnaround = String.format("%.2f", result.getAverageTurnaroundTime());
+        String averageWaiting = String.format("%.2f", result.getAverageWaitingTime());
+        resultArea.setText("Average Turnaround Time: " + averageTurnaround + "\n");
+        resultArea.append("Average Waiting Time: " + averageWaiting + "\n");
+        resultArea.append(result.getSummary().formatPercentiles() + "\n"); // Tail latencies from the histograms.
+        resultArea.append("Gantt Chart:\n");
+        try (GanttTextWriter gantt = new GanttTextWriter(new TextAreaWriter(resultArea))) {
+            gantt.writeChart(result.getScheduleTrace()); // Streaming the Gantt chart into the text area in chunks.
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Writing to a text area does not fail.
+        }
+
+        // Drawing the Gantt chart below the text version.
+        GanttChartPanel ganttChartPanel = new GanttChartPanel(result.getScheduleTrace());
+        ganttChartPanel.setPreferredSize(new Dimension(getWidth(), 150));
+
+        // Adding the text area and the chart to the bottom of the frame.
+        JPanel bottomPanel = new JPanel(new BorderLayout());
+        bottomPanel.add(resultArea, BorderLayout.NORTH);
+        bottomPanel.add(ganttChartPanel, BorderLayout.CENTER);
+        add(bottomPanel, BorderLayout.SOUTH);
+    }
+}
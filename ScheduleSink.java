@@ -0,0 +1,8 @@
+// Receives the output of a streaming simulation as it is produced, instead of it being kept in memory
+public interface ScheduleSink {
+    // A process (or ScheduleTrace.IDLE) ran from start to end. Back-to-back slices of one process arrive merged.
+    void onSlice(int processId, int start, int end);
+
+    // A process finished; the turnaround time is finishingTime - arrivalTime
+    void onCompletion(int processId, int arrivalTime, int burstTime, int priority, int finishingTime);
+}
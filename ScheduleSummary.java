@@ -0,0 +1,150 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Running totals of a schedule, updated as processes complete. Shared by the batch schedulers and the
+// streaming mode, so the averages never need the per-process arrays. Waiting, response and turnaround
+// times also go into fixed-size histograms, which give their percentiles for any number of processes.
+public class ScheduleSummary {
+    private long totalTurnaroundTime = 0;
+    private long totalWaitingTime = 0;
+    private long totalCpuTime = 0;
+    private long totalIoTime = 0;
+    private long completedProcesses = 0;
+    private long contextSwitches = 0;
+    private int makespan = 0;
+    private final LatencyHistogram waitingTimes = new LatencyHistogram();
+    private final LatencyHistogram responseTimes = new LatencyHistogram();
+    private final LatencyHistogram turnaroundTimes = new LatencyHistogram();
+
+    // firstStartTime is when the process first got the CPU, which gives its response time
+    void recordCompletion(int arrivalTime, int burstTime, int firstStartTime, int finishingTime) {
+        recordCompletion(arrivalTime, burstTime, 0, firstStartTime, finishingTime);
+    }
+
+    // A process that also did I/O: the time it spent blocked is not waiting time
+    void recordCompletion(int arrivalTime, int cpuTime, int ioTime, int firstStartTime, int finishingTime) {
+        int turnaroundTime = finishingTime - arrivalTime;
+        int waitingTime = turnaroundTime - cpuTime - ioTime;
+        totalTurnaroundTime += turnaroundTime;
+        totalWaitingTime += waitingTime;
+        totalCpuTime += cpuTime;
+        totalIoTime += ioTime;
+        completedProcesses++;
+        makespan = Math.max(makespan, finishingTime);
+        waitingTimes.record(waitingTime);
+        responseTimes.record(firstStartTime - arrivalTime);
+        turnaroundTimes.record(turnaroundTime);
+    }
+
+    void recordContextSwitch() {
+        contextSwitches++;
+    }
+
+    // Adds the totals of another part of the same schedule, e.g. another core
+    void merge(ScheduleSummary other) {
+        totalTurnaroundTime += other.totalTurnaroundTime;
+        totalWaitingTime += other.totalWaitingTime;
+        totalCpuTime += other.totalCpuTime;
+        totalIoTime += other.totalIoTime;
+        completedProcesses += other.completedProcesses;
+        contextSwitches += other.contextSwitches;
+        makespan = Math.max(makespan, other.makespan);
+        waitingTimes.merge(other.waitingTimes);
+        responseTimes.merge(other.responseTimes);
+        turnaroundTimes.merge(other.turnaroundTimes);
+    }
+
+    // Writes the totals and histograms, for a checkpoint file
+    void write(DataOutput out) throws IOException {
+        out.writeLong(totalTurnaroundTime);
+        out.writeLong(totalWaitingTime);
+        out.writeLong(totalCpuTime);
+        out.writeLong(totalIoTime);
+        out.writeLong(completedProcesses);
+        out.writeLong(contextSwitches);
+        out.writeInt(makespan);
+        waitingTimes.write(out);
+        responseTimes.write(out);
+        turnaroundTimes.write(out);
+    }
+
+    static ScheduleSummary read(DataInput in) throws IOException {
+        ScheduleSummary summary = new ScheduleSummary();
+        summary.totalTurnaroundTime = in.readLong();
+        summary.totalWaitingTime = in.readLong();
+        summary.totalCpuTime = in.readLong();
+        summary.totalIoTime = in.readLong();
+        summary.completedProcesses = in.readLong();
+        summary.contextSwitches = in.readLong();
+        summary.makespan = in.readInt();
+        summary.waitingTimes.read(in);
+        summary.responseTimes.read(in);
+        summary.turnaroundTimes.read(in);
+        return summary;
+    }
+
+    public long getCompletedProcesses() {
+        return completedProcesses;
+    }
+
+    // Number of times the CPU was handed to a different process than the one that ran before it
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    // Time at which the last process finished
+    public int getMakespan() {
+        return makespan;
+    }
+
+    public long getTotalTurnaroundTime() {
+        return totalTurnaroundTime;
+    }
+
+    public long getTotalWaitingTime() {
+        return totalWaitingTime;
+    }
+
+    // CPU time of all completed processes
+    public long getTotalCpuTime() {
+        return totalCpuTime;
+    }
+
+    // Time all completed processes spent blocked on I/O
+    public long getTotalIoTime() {
+        return totalIoTime;
+    }
+
+    public double getAverageTurnaroundTime() {
+        return (double) totalTurnaroundTime / completedProcesses;
+    }
+
+    public double getAverageWaitingTime() {
+        return (double) totalWaitingTime / completedProcesses;
+    }
+
+    // Time from arrival until a process first runs
+    public double getAverageResponseTime() {
+        return responseTimes.getMean();
+    }
+
+    public LatencyHistogram getWaitingTimes() {
+        return waitingTimes;
+    }
+
+    public LatencyHistogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    public LatencyHistogram getTurnaroundTimes() {
+        return turnaroundTimes;
+    }
+
+    // Percentile lines for a text report
+    public String formatPercentiles() {
+        return "Waiting Time: " + waitingTimes.formatPercentiles() + "\n"
+                + "Response Time: " + responseTimes.formatPercentiles() + "\n"
+                + "Turnaround Time: " + turnaroundTimes.formatPercentiles() + "\n";
+    }
+}
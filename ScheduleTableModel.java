@@ -0,0 +1,122 @@
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.Arrays;
+
+// Per-process results table that reads straight from the workload and result arrays instead of copying
+// every cell into a DefaultTableModel. Turnaround and waiting times are computed when a cell is drawn,
+// so apart from the result itself the model holds one int per process: the row order.
+//
+// Sorting (click a column header, click again to reverse) packs each row's sort value and index into one
+// long and sorts those with a primitive sort, so no boxed values or comparators are involved.
+public class ScheduleTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"Process", "Arrival Time", "Burst Time", "Priority", "Finishing Time", "Turnaround Time", "Waiting Time"};
+
+    private final ScheduleResult result;
+    private final Workload workload;
+    private final int[] order; // order[row] is the workload index shown in that row
+    private int sortColumn = -1;
+    private boolean descending = false;
+
+    public ScheduleTableModel(ScheduleResult result) {
+        this.result = result;
+        this.workload = result.getWorkload();
+        this.order = new int[workload.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i; // Input order until a column is sorted
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return order.length;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        if (column == sortColumn) {
+            return COLUMNS[column] + (descending ? " \u25BC" : " \u25B2");
+        }
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : Integer.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int index = order[row];
+        if (column == 0) {
+            return "P" + workload.processIds[index];
+        }
+        return value(index, column);
+    }
+
+    // Numeric value of a cell, for display and for sorting
+    private int value(int index, int column) {
+        switch (column) {
+            case 0:
+                return workload.processIds[index];
+            case 1:
+                return workload.arrivalTimes[index];
+            case 2:
+                return workload.burstTimes[index];
+            case 3:
+                return workload.priorities[index];
+            case 4:
+                return result.getFinishingTime(index);
+            case 5:
+                return result.getTurnaroundTime(index);
+            default:
+                return result.getWaitingTime(index);
+        }
+    }
+
+    // Sorts by the column, ascending, or reversed if it is already the sort column. Ties keep input order.
+    public void sortBy(int column) {
+        descending = column == sortColumn && !descending;
+        sortColumn = column;
+
+        // High 32 bits: the value (bit-flipped when descending); low 32 bits: the workload index, which
+        // breaks ties. Sorting the packed keys as plain longs orders rows by value, then input order.
+        long[] keys = new long[order.length];
+        for (int i = 0; i < keys.length; i++) {
+            int key = descending ? ~value(i, column) : value(i, column);
+            keys[i] = ((long) key << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+
+        fireTableDataChanged();
+    }
+
+    // Makes clicks on the table's column headers sort by that column
+    public void installHeaderSorting(JTable table) {
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+                if (column < 0) {
+                    return;
+                }
+                sortBy(column);
+
+                // Header labels are copied into the table columns, so refresh them to move the arrow
+                for (int i = 0; i < table.getColumnCount(); i++) {
+                    table.getColumnModel().getColumn(i).setHeaderValue(getColumnName(table.convertColumnIndexToModel(i)));
+                }
+                table.getTableHeader().repaint();
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+import java.util.Arrays;
+
+// Compact record of a schedule: one entry per CPU slice, kept in parallel growable int arrays
+// instead of a list of "P<id>" strings and boxed time markers.
+public class ScheduleTrace {
+    // Process ID used for slices where the CPU had nothing to run
+    public static final int IDLE = Integer.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] processIds = new int[INITIAL_CAPACITY];
+    private int[] startTimes = new int[INITIAL_CAPACITY];
+    private int[] endTimes = new int[INITIAL_CAPACITY];
+    // busyTimes[i] is the total non-idle time of slices 0..i, so busy time over any window is two lookups
+    private long[] busyTimes = new long[INITIAL_CAPACITY];
+    private int size = 0;
+    private final boolean readOnly; // A prefix view sharing another trace's arrays
+
+    public ScheduleTrace() {
+        this.readOnly = false;
+    }
+
+    private ScheduleTrace(ScheduleTrace trace, int size) {
+        this.processIds = trace.processIds;
+        this.startTimes = trace.startTimes;
+        this.endTimes = trace.endTimes;
+        this.busyTimes = trace.busyTimes;
+        this.size = size;
+        this.readOnly = true;
+    }
+
+    // Records that processId ran from start to end. A slice that directly continues the
+    // previous slice of the same process is merged into it (run-length encoding).
+    public void add(int processId, int start, int end) {
+        if (readOnly) {
+            throw new UnsupportedOperationException("A prefix view of a trace cannot be added to");
+        }
+        long busy = processId == IDLE ? 0 : end - start;
+        if (size > 0 && processIds[size - 1] == processId && endTimes[size - 1] == start) {
+            endTimes[size - 1] = end;
+            busyTimes[size - 1] += busy;
+            return;
+        }
+        if (size == processIds.length) {
+            int newCapacity = size + (size >> 1);
+            processIds = Arrays.copyOf(processIds, newCapacity);
+            startTimes = Arrays.copyOf(startTimes, newCapacity);
+            endTimes = Arrays.copyOf(endTimes, newCapacity);
+            busyTimes = Arrays.copyOf(busyTimes, newCapacity);
+        }
+        processIds[size] = processId;
+        startTimes[size] = start;
+        endTimes[size] = end;
+        busyTimes[size] = (size == 0 ? 0 : busyTimes[size - 1]) + busy;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Read-only view of the first count slices, sharing this trace's arrays instead of copying them. The
+    // trace only ever writes its last slice and the ones after it, and moves to new arrays when it grows,
+    // so a view of the slices before the last stays valid, also on another thread that received it
+    // through a happens-before handoff such as SwingWorker.publish.
+    ScheduleTrace prefix(int count) {
+        if (count < 0 || count > size) {
+            throw new IndexOutOfBoundsException("Prefix of " + count + " slices of " + size);
+        }
+        return new ScheduleTrace(this, count);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getProcessId(int index) {
+        return processIds[index];
+    }
+
+    public int getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    public int getEndTime(int index) {
+        return endTimes[index];
+    }
+
+    public boolean isIdle(int index) {
+        return processIds[index] == IDLE;
+    }
+
+    // Time at which the last slice ends, or 0 for an empty trace
+    public int getEndTime() {
+        return size == 0 ? 0 : endTimes[size - 1];
+    }
+
+    // Index of the last slice starting at or before time, or -1 if every slice starts later.
+    // Slices are recorded in time order, so this is a binary search over the start times.
+    public int findSlice(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (startTimes[middle] <= time) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    // Time the CPU spent running processes (not idle) before the given time
+    public long getBusyTimeBefore(long time) {
+        int index = findSlice(time);
+        if (index < 0) {
+            return 0;
+        }
+        long before = index == 0 ? 0 : busyTimes[index - 1];
+        if (processIds[index] == IDLE) {
+            return before;
+        }
+        return before + Math.max(0, Math.min(time, endTimes[index]) - startTimes[index]);
+    }
+
+    // Display label for a slice, e.g. "P3" or "IDLE"
+    public String getLabel(int index) {
+        return label(processIds[index]);
+    }
+
+    public static String label(int processId) {
+        return processId == IDLE ? "IDLE" : "P" + processId;
+    }
+}
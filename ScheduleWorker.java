@@ -0,0 +1,98 @@
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs a scheduler on a background thread so the Event Dispatch Thread stays responsive.
+//
+// Progress reports are published back to the EDT together with a read-only prefix view of the run's trace
+// (getLiveTrace), so a Gantt chart can fill in while the run is going without a second copy of the
+// slices. Override onProgress and done, both called on the EDT; cancel(true) stops the run at its next
+// progress report. done may run before the last progress report has been delivered, so the finished
+// schedule should be taken from get(), not from the live trace.
+class ScheduleWorker extends SwingWorker<ScheduleResult, ScheduleWorker.Progress> {
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    // Shared pool for background runs. SwingWorker's own executor is capped at 10 threads, so workers are
+    // submitted here instead; daemon threads let the JVM exit while a run is still going.
+    static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "scheduler-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // A progress report plus the slices recorded so far
+    static final class Progress {
+        final int simulatedTime;
+        final int completedProcesses;
+        final ScheduleTrace trace;
+
+        Progress(int simulatedTime, int completedProcesses, ScheduleTrace trace) {
+            this.simulatedTime = simulatedTime;
+            this.completedProcesses = completedProcesses;
+            this.trace = trace;
+        }
+    }
+
+    private final Scheduler scheduler;
+    private final Workload workload;
+    private ScheduleTrace liveTrace = new ScheduleTrace(); // Only touched on the EDT
+    private volatile long runTimeNanos = -1;
+
+    ScheduleWorker(Scheduler scheduler, Workload workload) {
+        this.scheduler = scheduler;
+        this.workload = workload;
+    }
+
+    // Submits the worker to the background pool and returns it
+    ScheduleWorker start() {
+        EXECUTOR.execute(this);
+        return this;
+    }
+
+    Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    Workload getWorkload() {
+        return workload;
+    }
+
+    // Wall-clock time the scheduler took, or -1 while it has not finished
+    long getRunTimeNanos() {
+        return runTimeNanos;
+    }
+
+    // The slices published so far; only to be read on the EDT
+    ScheduleTrace getLiveTrace() {
+        return liveTrace;
+    }
+
+    @Override
+    protected ScheduleResult doInBackground() {
+        long start = System.nanoTime();
+        ScheduleResult result = scheduler.run(workload, true, (simulatedTime, completedProcesses, trace) -> {
+            if (isCancelled()) {
+                throw new CancellationException("Scheduling was cancelled");
+            }
+            // The last slice may still be extended, so it is left for the next report
+            publish(new Progress(simulatedTime, completedProcesses, trace.prefix(Math.max(0, trace.size() - 1))));
+        });
+        runTimeNanos = System.nanoTime() - start;
+        return result;
+    }
+
+    @Override
+    protected final void process(List<Progress> chunks) {
+        // Only the latest view matters; it covers the slices of every earlier one
+        Progress latest = chunks.get(chunks.size() - 1);
+        liveTrace = latest.trace;
+        onProgress(latest.simulatedTime, latest.completedProcesses);
+    }
+
+    // Called on the EDT after new progress has been appended to the live trace
+    protected void onProgress(int simulatedTime, int completedProcesses) {
+    }
+}
@@ -0,0 +1,20 @@
+// Common interface for the scheduling algorithms. Implementations keep no state between runs,
+// so a single instance can schedule the same or different workloads any number of times.
+public interface Scheduler {
+    // Name of the algorithm as shown to the user
+    String getName();
+
+    // Schedules the workload and returns a new result; the workload itself is never modified
+    default ScheduleResult run(Workload workload) {
+        return run(workload, true);
+    }
+
+    // Same as run(workload), but skips building the Gantt chart trace when recordTrace is false,
+    // for callers such as parameter sweeps that only need the metrics
+    default ScheduleResult run(Workload workload, boolean recordTrace) {
+        return run(workload, recordTrace, null);
+    }
+
+    // Same as run(workload, recordTrace), reporting progress to the listener (if not null) as the run goes
+    ScheduleResult run(Workload workload, boolean recordTrace, ScheduleProgressListener listener);
+}
@@ -0,0 +1,229 @@
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+// Benchmark suite for every scheduler and for painting GanttChartPanel off screen.
+//
+// A plain timing loop: each benchmark is run for a number of warmup iterations, then timed over the
+// measured iterations, and the mean time per operation is reported. Besides throughput it reports the
+// bytes the benchmark thread allocated per operation and the GC count over the measured iterations.
+// All benchmarks share one JVM, so JIT decisions and heap state carry over from one to the next, and
+// there are no error bounds. Compare results only with other runs of the same benchmarks on the same
+// machine, and rerun with a narrower grid, e.g. one --processes count, before trusting a small difference.
+//
+// Usage: java SchedulerBenchmark [--processes 10,1000,...] [--arrivals poisson,bursty]
+//        [--bursts exponential,pareto,bimodal] [--quanta 2,8] [--warmup N] [--iterations N] [--min-time-ms N]
+public class SchedulerBenchmark {
+    private static final int GANTT_WIDTH = 1200;
+    private static final int GANTT_HEIGHT = 200;
+
+    // A single operation under test
+    private interface Operation {
+        void run();
+    }
+
+    private int warmupIterations = 3;
+    private int measuredIterations = 5;
+    private long minIterationNanos = 200_000_000L;
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int[] processCounts = {10, 1_000, 100_000, 1_000_000};
+        String[] arrivals = {"poisson", "bursty"};
+        String[] bursts = {"exponential", "pareto", "bimodal"};
+        int[] quanta = {2, 8};
+        SchedulerBenchmark benchmark = new SchedulerBenchmark();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--processes":
+                    processCounts = parseInts(value(args, ++i));
+                    break;
+                case "--arrivals":
+                    arrivals = value(args, ++i).split(",");
+                    break;
+                case "--bursts":
+                    bursts = value(args, ++i).split(",");
+                    break;
+                case "--quanta":
+                    quanta = parseInts(value(args, ++i));
+                    break;
+                case "--warmup":
+                    benchmark.warmupIterations = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--iterations":
+                    benchmark.measuredIterations = Integer.parseInt(value(args, ++i));
+                    break;
+                case "--min-time-ms":
+                    benchmark.minIterationNanos = Long.parseLong(value(args, ++i)) * 1_000_000L;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        System.out.printf("%-44s %10s %-8s %-12s %12s %14s %12s %14s %8s%n", "Benchmark", "Processes", "Arrivals",
+                "Bursts", "ms/op", "processes/s", "alloc MB/s", "alloc B/op", "GCs");
+        for (int processCount : processCounts) {
+            for (String arrival : arrivals) {
+                for (String burst : bursts) {
+                    benchmark.runAll(generate(processCount, arrival, burst, 42), arrival, burst, quanta);
+                }
+            }
+        }
+    }
+
+    private void runAll(Workload workload, String arrivals, String bursts, int[] quanta) {
+        List<Scheduler> schedulers = new ArrayList<>();
+        for (int quantum : quanta) {
+            schedulers.add(new RoundRobinScheduler(quantum));
+        }
+        schedulers.add(new NonPreemptiveSJFScheduler());
+        schedulers.add(new ShortestRemainingTimeScheduler());
+        schedulers.add(new NonPreemptivePriorityScheduler());
+        schedulers.add(new NonPreemptivePriorityScheduler(100));
+        schedulers.add(new MultilevelFeedbackQueueScheduler(new int[]{quanta[0], 2 * quanta[0], 4 * quanta[0]}, 0));
+        schedulers.add(new MultilevelFeedbackQueueScheduler(new int[]{quanta[0], 2 * quanta[0], 4 * quanta[0]}, 1000));
+        schedulers.add(new CompletelyFairScheduler());
+
+        for (Scheduler scheduler : schedulers) {
+            measure(scheduler.getName(), workload, arrivals, bursts, () -> scheduler.run(workload, false));
+            measure(scheduler.getName() + " + trace", workload, arrivals, bursts, () -> scheduler.run(workload, true));
+        }
+
+        for (int quantum : quanta) {
+            ScheduleSink discard = new ScheduleSink() {
+                @Override
+                public void onSlice(int processId, int start, int end) {
+                }
+
+                @Override
+                public void onCompletion(int processId, int arrivalTime, int burstTime, int priority, int finishingTime) {
+                }
+            };
+            measure("Streaming Round Robin (q=" + quantum + ")", workload, arrivals, bursts, () -> {
+                StreamingRoundRobin simulation = new StreamingRoundRobin(quantum, discard);
+                for (int i = 0; i < workload.size(); i++) {
+                    int process = workload.arrivalOrder[i];
+                    simulation.accept(workload.processIds[process], workload.arrivalTimes[process],
+                            workload.burstTimes[process], workload.priorities[process]);
+                }
+                simulation.finish();
+            });
+        }
+
+        // Off-screen paint of the Gantt chart of a Round Robin schedule
+        ScheduleTrace trace = new RoundRobinScheduler(quanta[0]).run(workload).getScheduleTrace();
+        GanttChartPanel panel = new GanttChartPanel(trace);
+        panel.setSize(GANTT_WIDTH, GANTT_HEIGHT);
+        BufferedImage image = new BufferedImage(GANTT_WIDTH, GANTT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        measure("GanttChartPanel.paintComponent (" + trace.size() + " slices)", workload, arrivals, bursts, () -> {
+            panel.clearTileCache();
+            paint(panel, image);
+        });
+        measure("GanttChartPanel.paintComponent, cached tiles", workload, arrivals, bursts, () -> paint(panel, image));
+    }
+
+    private static void paint(GanttChartPanel panel, BufferedImage image) {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            panel.paint(graphics);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private void measure(String name, Workload workload, String arrivals, String bursts, Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(operation);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long operations = 0;
+        long nanos = 0;
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long gcBefore = gcCount();
+        for (int i = 0; i < measuredIterations; i++) {
+            long start = System.nanoTime();
+            operations += runIteration(operation);
+            nanos += System.nanoTime() - start;
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long gcs = gcCount() - gcBefore;
+
+        double millisPerOperation = nanos / 1e6 / operations;
+        double processesPerSecond = workload.size() * operations / (nanos / 1e9);
+        double allocationRate = allocated / (1024.0 * 1024.0) / (nanos / 1e9);
+        System.out.printf("%-44s %10d %-8s %-12s %12.4f %14.0f %12.1f %14d %8d%n", name, workload.size(), arrivals,
+                bursts, millisPerOperation, processesPerSecond, allocationRate, allocated / operations, gcs);
+    }
+
+    // Repeats the operation until the iteration has run for the minimum time, returning the operation count
+    private long runIteration(Operation operation) {
+        long start = System.nanoTime();
+        long operations = 0;
+        do {
+            operation.run();
+            operations++;
+        } while (System.nanoTime() - start < minIterationNanos);
+        return operations;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    // Workload with the given arrival pattern (Poisson, or batches of 50 simultaneous arrivals) and burst
+    // distribution (exponential, heavy-tailed Pareto or bimodal), loaded to roughly 90% CPU utilization
+    static Workload generate(int processCount, String arrivals, String bursts, long seed) {
+        WorkloadGenerator generator = new WorkloadGenerator(seed).priorityMix(1, 1, 1, 1, 1, 1, 1, 1, 1, 1);
+        switch (bursts) {
+            case "exponential":
+                generator.exponentialBursts(9);
+                break;
+            case "pareto":
+                generator.paretoBursts(3, 1.5);
+                break;
+            case "bimodal":
+                generator.bimodalBursts(4, 60, 0.1);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown burst distribution: " + bursts);
+        }
+        switch (arrivals) {
+            case "poisson":
+                break;
+            case "bursty":
+                generator.batchSize(50);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown arrival distribution: " + arrivals);
+        }
+        return generator.utilization(0.9).toWorkload(processCount);
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static int[] parseInts(String values) {
+        String[] parts = values.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            result[i] = Integer.parseInt(parts[i].trim().replace("_", ""));
+        }
+        return result;
+    }
+}
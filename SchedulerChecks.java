@@ -0,0 +1,1151 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+
+// Randomized checks of the schedulers against reference implementations. Each check schedules many small
+// random workloads and compares the results with a deliberately naive version of the same rules, such as
+// the original list-based code or a loop that advances one tick at a time and scans every process.
+//
+// Workload i of a run is generated from seed + i, and a failure reports that seed, so a single failing
+// workload can be replayed with --seed S --workloads 1.
+//
+// Usage: java SchedulerChecks [--workloads N] [--seed S] [CHECK ...]
+public class SchedulerChecks {
+    // Schedules one random workload and throws an AssertionError if the results differ from the reference
+    private interface Check {
+        void run(Random random) throws Exception;
+    }
+
+    private static final Map<String, Check> CHECKS = new LinkedHashMap<>();
+
+    static {
+        CHECKS.put("sjf", SchedulerChecks::checkNonPreemptiveSjf);
+        CHECKS.put("srt", SchedulerChecks::checkShortestRemainingTime);
+        CHECKS.put("priority", SchedulerChecks::checkNonPreemptivePriority);
+        CHECKS.put("streaming-rr", SchedulerChecks::checkStreamingRoundRobin);
+        CHECKS.put("gantt-text", SchedulerChecks::checkGanttText);
+        CHECKS.put("rr", SchedulerChecks::checkRoundRobin);
+        CHECKS.put("mlfq", SchedulerChecks::checkMultilevelFeedbackQueue);
+        CHECKS.put("multicore", SchedulerChecks::checkMultiCore);
+        CHECKS.put("kernel", SchedulerChecks::checkKernelInvariants);
+        CHECKS.put("checkpoint", SchedulerChecks::checkCheckpoints);
+        CHECKS.put("text-reader", SchedulerChecks::checkTextWorkloadReader);
+        CHECKS.put("io", SchedulerChecks::checkIoBursts);
+        CHECKS.put("cfs-io", SchedulerChecks::checkCfsChargesIoBoundProcesses);
+        CHECKS.put("rbtree", SchedulerChecks::checkRedBlackTree);
+        CHECKS.put("cfs-shares", SchedulerChecks::checkCfsShares);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int workloads = 2000;
+        long seed = 1;
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--workloads":
+                    workloads = Integer.parseInt(requireValue(args, i++));
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(requireValue(args, i++));
+                    break;
+                default:
+                    if (!CHECKS.containsKey(args[i])) {
+                        throw new IllegalArgumentException("Unknown check: " + args[i] + ", expected one of " + CHECKS.keySet());
+                    }
+                    names.add(args[i]);
+            }
+        }
+        if (names.isEmpty()) {
+            names.addAll(CHECKS.keySet());
+        }
+
+        int failures = 0;
+        for (String name : names) {
+            Check check = CHECKS.get(name);
+            String outcome = "ok";
+            for (int i = 0; i < workloads; i++) {
+                try {
+                    check.run(new Random(seed + i));
+                } catch (AssertionError e) {
+                    outcome = "FAILED on seed " + (seed + i) + ": " + e.getMessage();
+                    failures++;
+                    break;
+                }
+            }
+            System.out.printf("%-16s %s%n", name, outcome);
+        }
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static String requireValue(String[] args, int i) {
+        if (i + 1 >= args.length) {
+            throw new IllegalArgumentException(args[i] + " needs a value");
+        }
+        return args[i + 1];
+    }
+
+    // Non-preemptive SJF against the original implementation, which rescanned the process list for
+    // arrivals on every tick. Both break ties on burst, priority, arrival and then process ID.
+    private static void checkNonPreemptiveSjf(Random random) {
+        List<Process> processes = randomProcesses(random, 30, 60, 0, 10, 4);
+        ScheduleResult result = new NonPreemptiveSJFScheduler().run(Workload.of(processes));
+
+        int n = processes.size();
+        int[] finishingTimes = new int[n];
+        boolean[] queued = new boolean[n];
+        StringBuilder expected = new StringBuilder();
+        double totalTurnaroundTime = 0;
+        double totalWaitingTime = 0;
+        int dispatched = 0;
+        int handled = 0;
+        Queue<Integer> readyQueue = new PriorityQueue<>(Comparator.comparingInt((Integer i) -> processes.get(i).burstTime)
+                .thenComparingInt(i -> processes.get(i).priority)
+                .thenComparingInt(i -> processes.get(i).arrivalTime)
+                .thenComparingInt(i -> processes.get(i).processID));
+        int currentTime = 0;
+        while (handled < n) {
+            for (int i = 0; i < n; i++) {
+                Process process = processes.get(i);
+                if (!queued[i] && process.arrivalTime <= currentTime) {
+                    queued[i] = true;
+                    if (process.burstTime > 0) {
+                        readyQueue.add(i);
+                    } else {
+                        handled++; // Nothing to run
+                    }
+                }
+            }
+            if (readyQueue.isEmpty()) {
+                currentTime++;
+                continue;
+            }
+            int i = readyQueue.poll();
+            Process process = processes.get(i);
+            appendSlice(expected, process.processID, currentTime, currentTime + process.burstTime);
+            currentTime += process.burstTime;
+            finishingTimes[i] = currentTime;
+            totalTurnaroundTime += currentTime - process.arrivalTime;
+            totalWaitingTime += currentTime - process.arrivalTime - process.burstTime;
+            dispatched++;
+            handled++;
+        }
+
+        expectEqual("Gantt chart", expected.toString(), describeBusySlices(result.getScheduleTrace()));
+        for (int i = 0; i < n; i++) {
+            if (processes.get(i).burstTime > 0) {
+                expectEqual("finishing time of P" + processes.get(i).processID, finishingTimes[i], result.getFinishingTime(i));
+            }
+        }
+        expectEqual("average turnaround time", dispatched == 0 ? 0 : totalTurnaroundTime / dispatched,
+                dispatched == 0 ? 0 : result.getAverageTurnaroundTime());
+        expectEqual("average waiting time", dispatched == 0 ? 0 : totalWaitingTime / dispatched,
+                dispatched == 0 ? 0 : result.getAverageWaitingTime());
+    }
+
+    // Shortest Remaining Time against a tick-by-tick simulation that picks the shortest of all arrived
+    // processes on every tick, with the same tie-breaks
+    private static void checkShortestRemainingTime(Random random) {
+        List<Process> processes = randomProcesses(random, 20, 40, 0, 8, 3);
+        ScheduleResult result = new ShortestRemainingTimeScheduler().run(Workload.of(processes));
+
+        int n = processes.size();
+        int[] remainingTimes = new int[n];
+        int[] finishingTimes = new int[n];
+        int left = 0;
+        int lastArrival = 0;
+        for (int i = 0; i < n; i++) {
+            remainingTimes[i] = processes.get(i).burstTime;
+            if (remainingTimes[i] > 0) {
+                left++;
+            }
+            lastArrival = Math.max(lastArrival, processes.get(i).arrivalTime);
+        }
+        // The CPU also idles until processes with nothing to run have arrived
+        ScheduleTrace expected = new ScheduleTrace();
+        for (int time = 0; left > 0 || time < lastArrival; time++) {
+            int best = -1;
+            for (int i = 0; i < n; i++) {
+                if (processes.get(i).arrivalTime <= time && remainingTimes[i] > 0
+                        && (best < 0 || compareShortest(processes, remainingTimes, i, best) < 0)) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                expected.add(ScheduleTrace.IDLE, time, time + 1);
+                continue;
+            }
+            expected.add(processes.get(best).processID, time, time + 1);
+            if (--remainingTimes[best] == 0) {
+                finishingTimes[best] = time + 1;
+                left--;
+            }
+        }
+
+        expectEqual("Gantt chart", describe(expected), describe(result.getScheduleTrace()));
+        for (int i = 0; i < n; i++) {
+            if (processes.get(i).burstTime > 0) {
+                expectEqual("finishing time of P" + processes.get(i).processID, finishingTimes[i], result.getFinishingTime(i));
+            }
+        }
+    }
+
+    // Non-preemptive priority scheduling, with and without aging, against a brute-force simulation that
+    // works out every waiting process's aged priority from scratch whenever the CPU becomes free
+    private static void checkNonPreemptivePriority(Random random) {
+        List<Process> processes = randomProcesses(random, 25, 50, 0, 8, 8);
+        int agingInterval = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(6);
+        ScheduleResult result = new NonPreemptivePriorityScheduler(agingInterval).run(Workload.of(processes));
+
+        int n = processes.size();
+        int bestPriority = Integer.MAX_VALUE;
+        int lastArrival = 0;
+        int left = 0;
+        for (Process process : processes) {
+            bestPriority = Math.min(bestPriority, process.priority);
+            lastArrival = Math.max(lastArrival, process.arrivalTime);
+            if (process.burstTime > 0) {
+                left++;
+            }
+        }
+        boolean[] done = new boolean[n];
+        int[] finishingTimes = new int[n];
+        ScheduleTrace expected = new ScheduleTrace();
+        int time = 0;
+        while (left > 0 || time < lastArrival) {
+            int best = -1;
+            int bestEffective = 0;
+            for (int i = 0; i < n; i++) {
+                Process process = processes.get(i);
+                if (done[i] || process.burstTime == 0 || process.arrivalTime > time) {
+                    continue;
+                }
+                int effective = agingInterval == 0 ? process.priority
+                        : Math.max(bestPriority, process.priority - (time - process.arrivalTime) / agingInterval);
+                if (best < 0 || effective < bestEffective || (effective == bestEffective
+                        && compareArrival(process, processes.get(best)) < 0)) {
+                    best = i;
+                    bestEffective = effective;
+                }
+            }
+            if (best < 0) {
+                expected.add(ScheduleTrace.IDLE, time, time + 1);
+                time++;
+                continue;
+            }
+            Process process = processes.get(best);
+            expected.add(process.processID, time, time + process.burstTime);
+            time += process.burstTime;
+            finishingTimes[best] = time;
+            done[best] = true;
+            left--;
+        }
+
+        expectEqual("Gantt chart (aging " + agingInterval + ")", describe(expected), describe(result.getScheduleTrace()));
+        for (int i = 0; i < n; i++) {
+            if (processes.get(i).burstTime > 0) {
+                expectEqual("finishing time of P" + processes.get(i).processID, finishingTimes[i], result.getFinishingTime(i));
+            }
+        }
+    }
+
+    // The streaming Round Robin mode against RoundRobinScheduler. Processes are fed in the batch
+    // scheduler's arrival order, so simultaneous arrivals are queued the same way in both.
+    private static void checkStreamingRoundRobin(Random random) {
+        List<Process> processes = randomProcesses(random, 40, 80, 0, 9, 3);
+        int timeQuantum = 1 + random.nextInt(5);
+        Workload workload = Workload.of(processes);
+        ScheduleResult result = new RoundRobinScheduler(timeQuantum).run(workload);
+
+        StringBuilder slices = new StringBuilder();
+        StringBuilder completions = new StringBuilder();
+        StreamingRoundRobin simulation = new StreamingRoundRobin(timeQuantum, new ScheduleSink() {
+            @Override
+            public void onSlice(int processId, int start, int end) {
+                appendSlice(slices, processId, start, end);
+            }
+
+            @Override
+            public void onCompletion(int processId, int arrivalTime, int burstTime, int priority, int finishingTime) {
+                completions.append(ScheduleTrace.label(processId)).append('@').append(finishingTime).append(' ');
+            }
+        });
+        for (int i = 0; i < workload.size(); i++) {
+            Process process = processes.get(workload.arrivalOrder[i]);
+            simulation.accept(process.processID, process.arrivalTime, process.burstTime, process.priority);
+        }
+        ScheduleSummary summary = simulation.finish();
+
+        expectEqual("Gantt chart (q=" + timeQuantum + ")", describe(result.getScheduleTrace()), slices.toString());
+        for (int i = 0; i < workload.size(); i++) {
+            Process process = processes.get(i);
+            if (process.burstTime > 0) {
+                String completion = ScheduleTrace.label(process.processID) + "@" + result.getFinishingTime(i) + " ";
+                expectEqual("completion of P" + process.processID + " reported", true, completions.indexOf(completion) >= 0);
+            }
+        }
+        expectEqual("summary", describe(result.getSummary()), describe(summary));
+    }
+
+    // Round Robin against the loop it ran before SimulationKernel: a FIFO queue of the arrived processes,
+    // where a process whose quantum ran out goes back behind those that arrived during its slice
+    private static void checkRoundRobin(Random random) {
+        List<Process> processes = randomProcesses(random, 40, 80, 0, 12, 3);
+        int timeQuantum = 1 + random.nextInt(6);
+        ScheduleResult result = new RoundRobinScheduler(timeQuantum).run(Workload.of(processes));
+
+        // Arrival order: by arrival time, then priority, then input order
+        List<Integer> arrivals = new ArrayList<>();
+        for (int i = 0; i < processes.size(); i++) {
+            arrivals.add(i);
+        }
+        arrivals.sort(Comparator.comparingInt((Integer i) -> processes.get(i).arrivalTime)
+                .thenComparingInt(i -> processes.get(i).priority));
+
+        int[] remainingTimes = new int[processes.size()];
+        int[] finishingTimes = new int[processes.size()];
+        for (int i = 0; i < processes.size(); i++) {
+            remainingTimes[i] = processes.get(i).burstTime;
+        }
+        ScheduleTrace expected = new ScheduleTrace();
+        Queue<Integer> queue = new ArrayDeque<>();
+        int currentTime = 0;
+        int next = 0;
+        int lastDispatched = -1;
+        long contextSwitches = 0;
+        while (next < arrivals.size() || !queue.isEmpty()) {
+            while (next < arrivals.size() && processes.get(arrivals.get(next)).arrivalTime <= currentTime) {
+                queue.add(arrivals.get(next++));
+            }
+            if (queue.isEmpty()) {
+                int nextArrivalTime = processes.get(arrivals.get(next)).arrivalTime;
+                expected.add(ScheduleTrace.IDLE, currentTime, nextArrivalTime);
+                currentTime = nextArrivalTime;
+                continue;
+            }
+            int i = queue.poll();
+            if (lastDispatched >= 0 && lastDispatched != i) {
+                contextSwitches++;
+            }
+            lastDispatched = i;
+            int slice = Math.min(timeQuantum, remainingTimes[i]);
+            expected.add(processes.get(i).processID, currentTime, currentTime + slice);
+            currentTime += slice;
+            remainingTimes[i] -= slice;
+            if (remainingTimes[i] > 0) {
+                queue.add(i);
+            } else {
+                finishingTimes[i] = currentTime;
+            }
+        }
+
+        expectEqual("Gantt chart (q=" + timeQuantum + ")", describe(expected), describe(result.getScheduleTrace()));
+        for (int i = 0; i < processes.size(); i++) {
+            expectEqual("finishing time of P" + processes.get(i).processID, finishingTimes[i], result.getFinishingTime(i));
+        }
+        expectEqual("context switches", contextSwitches, result.getContextSwitches());
+    }
+
+    // Multilevel Feedback Queue against a tick-by-tick simulation with one ArrayDeque per level. A process
+    // cut short by an arrival goes back to the head of its level, and a boost that falls due during a
+    // slice is applied once the slice has ended, after the running process has been put back
+    private static void checkMultilevelFeedbackQueue(Random random) {
+        List<Process> processes = randomProcesses(random, 20, 60, 1, 12, 4);
+        int[] timeQuanta = new int[1 + random.nextInt(4)];
+        for (int level = 0; level < timeQuanta.length; level++) {
+            timeQuanta[level] = 1 + random.nextInt(3 + 2 * level);
+        }
+        int boostInterval = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(30);
+        ScheduleResult result = new MultilevelFeedbackQueueScheduler(timeQuanta, boostInterval).run(Workload.of(processes));
+
+        int n = processes.size();
+        List<Integer> arrivals = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            arrivals.add(i);
+        }
+        arrivals.sort((a, b) -> {
+            int order = Integer.compare(processes.get(a).arrivalTime, processes.get(b).arrivalTime);
+            if (order == 0) {
+                order = Integer.compare(processes.get(a).priority, processes.get(b).priority);
+            }
+            return order != 0 ? order : Integer.compare(a, b);
+        });
+        List<ArrayDeque<Integer>> levels = new ArrayList<>();
+        for (int level = 0; level < timeQuanta.length; level++) {
+            levels.add(new ArrayDeque<>());
+        }
+        int[] usedQuanta = new int[n];
+        int[] remainingTimes = new int[n];
+        int[] finishingTimes = new int[n];
+        for (int i = 0; i < n; i++) {
+            remainingTimes[i] = processes.get(i).burstTime;
+        }
+        ScheduleTrace expected = new ScheduleTrace();
+        int admitted = 0;
+        int left = n;
+        boolean boostDue = false;
+        for (int time = 0; left > 0; ) {
+            while (admitted < n && processes.get(arrivals.get(admitted)).arrivalTime <= time) {
+                levels.get(0).addLast(arrivals.get(admitted++));
+            }
+            if (boostDue) {
+                for (int level = 1; level < timeQuanta.length; level++) {
+                    levels.get(0).addAll(levels.get(level));
+                    levels.get(level).clear();
+                }
+                for (int process : levels.get(0)) {
+                    usedQuanta[process] = 0;
+                }
+                boostDue = false;
+            }
+            int level = 0;
+            while (level < timeQuanta.length && levels.get(level).isEmpty()) {
+                level++;
+            }
+            if (level == timeQuanta.length) {
+                expected.add(ScheduleTrace.IDLE, time, time + 1);
+                time++;
+                continue;
+            }
+            int process = levels.get(level).pollFirst();
+            while (true) {
+                expected.add(processes.get(process).processID, time, time + 1);
+                time++;
+                remainingTimes[process]--;
+                usedQuanta[process]++;
+                if (boostInterval > 0 && time % boostInterval == 0) {
+                    boostDue = true;
+                }
+                if (remainingTimes[process] == 0) {
+                    finishingTimes[process] = time;
+                    left--;
+                    break;
+                }
+                if (usedQuanta[process] == timeQuanta[level]) {
+                    usedQuanta[process] = 0;
+                    levels.get(Math.min(level + 1, timeQuanta.length - 1)).addLast(process);
+                    break;
+                }
+                if (level > 0 && admitted < n && processes.get(arrivals.get(admitted)).arrivalTime <= time) {
+                    levels.get(level).addFirst(process);
+                    break;
+                }
+            }
+        }
+
+        expectEqual("Gantt chart", describe(expected), describe(result.getScheduleTrace()));
+        for (int i = 0; i < n; i++) {
+            expectEqual("finishing time of P" + processes.get(i).processID, finishingTimes[i], result.getFinishingTime(i));
+        }
+    }
+
+    // MultiCoreScheduler in every queue mode. On one core it must run the processes exactly when
+    // RoundRobinScheduler or NonPreemptiveSJFScheduler would. On several cores the slices of each core follow
+    // each other, no process runs before it arrives or on two cores at once, and every process gets
+    // exactly its burst time.
+    private static void checkMultiCore(Random random) {
+        List<Process> processes = randomProcesses(random, 30, 60, 0, 12, 4);
+        Workload workload = Workload.of(processes);
+        int timeQuantum = 1 + random.nextInt(5);
+        for (MultiCoreScheduler.QueueMode queueMode : MultiCoreScheduler.QueueMode.values()) {
+            MultiCoreScheduler[] multiCore = {
+                    MultiCoreScheduler.roundRobin(1, timeQuantum, queueMode),
+                    MultiCoreScheduler.shortestJobFirst(1, queueMode),
+            };
+            Scheduler[] singleCore = {new RoundRobinScheduler(timeQuantum), new NonPreemptiveSJFScheduler()};
+            for (int s = 0; s < singleCore.length; s++) {
+                MultiCoreResult result = multiCore[s].run(workload);
+                ScheduleResult expected = singleCore[s].run(workload);
+                String name = multiCore[s].getName();
+                // Only the busy slices: the single-core schedulers also idle until processes with nothing to
+                // run have arrived
+                expectEqual(name + ": Gantt chart", describeBusySlices(expected.getScheduleTrace()),
+                        describeBusySlices(result.getScheduleTrace(0)));
+                for (int i = 0; i < processes.size(); i++) {
+                    if (processes.get(i).burstTime > 0) {
+                        expectEqual(name + ": finishing time of P" + processes.get(i).processID,
+                                expected.getFinishingTime(i), result.getFinishingTime(i));
+                    }
+                }
+            }
+        }
+
+        processes = randomProcesses(random, 80, 60, 1, 15, 4);
+        workload = Workload.of(processes);
+        int cores = 2 + random.nextInt(7);
+        MultiCoreScheduler.QueueMode queueMode = MultiCoreScheduler.QueueMode.values()[random.nextInt(MultiCoreScheduler.QueueMode.values().length)];
+        MultiCoreScheduler scheduler = random.nextBoolean()
+                ? MultiCoreScheduler.roundRobin(cores, timeQuantum, queueMode)
+                : MultiCoreScheduler.shortestJobFirst(cores, queueMode);
+        MultiCoreResult result = scheduler.run(workload);
+        String name = scheduler.getName();
+
+        int[] cpuTimes = new int[processes.size()];
+        List<int[]> slices = new ArrayList<>(); // Index, start and end of every busy slice on any core
+        for (int core = 0; core < cores; core++) {
+            ScheduleTrace trace = result.getScheduleTrace(core);
+            for (int s = 0; s < trace.size(); s++) {
+                expectEqual(name + ": slice " + s + " of core " + core + " starts where the previous one ended",
+                        s == 0 ? 0 : trace.getEndTime(s - 1), trace.getStartTime(s));
+                if (trace.isIdle(s)) {
+                    continue;
+                }
+                int i = trace.getProcessId(s) - 1; // Process IDs are 1..n in input order
+                Process process = processes.get(i);
+                expectEqual(name + ": P" + process.processID + " runs after it arrives", true, trace.getStartTime(s) >= process.arrivalTime);
+                expectEqual(name + ": P" + process.processID + " runs before it finishes", true, trace.getEndTime(s) <= result.getFinishingTime(i));
+                cpuTimes[i] += trace.getEndTime(s) - trace.getStartTime(s);
+                slices.add(new int[]{i, trace.getStartTime(s), trace.getEndTime(s)});
+            }
+        }
+        for (int i = 0; i < processes.size(); i++) {
+            expectEqual(name + ": CPU time of P" + processes.get(i).processID, processes.get(i).burstTime, cpuTimes[i]);
+        }
+        expectEqual(name + ": completed processes", processes.size(), result.getCompletedProcesses());
+
+        slices.sort(Comparator.<int[]>comparingInt(slice -> slice[0]).thenComparingInt(slice -> slice[1]));
+        for (int s = 1; s < slices.size(); s++) {
+            int[] previous = slices.get(s - 1);
+            int[] slice = slices.get(s);
+            if (previous[0] == slice[0] && slice[1] < previous[2]) {
+                throw new AssertionError(name + ": P" + processes.get(slice[0]).processID + " runs on two cores at once, "
+                        + previous[1] + "-" + previous[2] + " and " + slice[1] + "-" + slice[2]);
+            }
+        }
+    }
+
+    // Invariants every single-CPU scheduler must keep, whatever its policy: slices follow each other
+    // without overlap, every process gets exactly its burst time between its arrival and its finishing
+    // time, and the summary totals agree with the per-process results. Processes with nothing to run are
+    // left out, as some policies complete them and others drop them.
+    private static void checkKernelInvariants(Random random) {
+        List<Process> processes = randomProcesses(random, 40, 100, 1, 15, 8);
+        Workload workload = Workload.of(processes);
+        int timeQuantum = 1 + random.nextInt(5);
+        Scheduler[] schedulers = {
+                new RoundRobinScheduler(timeQuantum),
+                new NonPreemptiveSJFScheduler(),
+                new ShortestRemainingTimeScheduler(),
+                new NonPreemptivePriorityScheduler(random.nextInt(10)),
+                new MultilevelFeedbackQueueScheduler(new int[]{timeQuantum, 2 * timeQuantum, 4 * timeQuantum}, random.nextInt(40)),
+                new CompletelyFairScheduler(),
+        };
+        for (Scheduler scheduler : schedulers) {
+            ScheduleResult result = scheduler.run(workload);
+            ScheduleTrace trace = result.getScheduleTrace();
+            String name = scheduler.getName();
+
+            int[] cpuTimes = new int[processes.size()];
+            for (int s = 0; s < trace.size(); s++) {
+                expectEqual(name + ": slice " + s + " starts where the previous one ended",
+                        s == 0 ? 0 : trace.getEndTime(s - 1), trace.getStartTime(s));
+                if (trace.isIdle(s)) {
+                    continue;
+                }
+                int i = trace.getProcessId(s) - 1; // Process IDs are 1..n in input order
+                Process process = processes.get(i);
+                expectEqual(name + ": P" + process.processID + " runs after it arrives", true, trace.getStartTime(s) >= process.arrivalTime);
+                expectEqual(name + ": P" + process.processID + " runs before it finishes", true, trace.getEndTime(s) <= result.getFinishingTime(i));
+                cpuTimes[i] += trace.getEndTime(s) - trace.getStartTime(s);
+            }
+
+            long totalTurnaroundTime = 0;
+            long totalWaitingTime = 0;
+            for (int i = 0; i < processes.size(); i++) {
+                expectEqual(name + ": CPU time of P" + processes.get(i).processID, processes.get(i).burstTime, cpuTimes[i]);
+                totalTurnaroundTime += result.getTurnaroundTime(i);
+                totalWaitingTime += result.getWaitingTime(i);
+            }
+            ScheduleSummary summary = result.getSummary();
+            expectEqual(name + ": completed processes", (long) processes.size(), summary.getCompletedProcesses());
+            expectEqual(name + ": total turnaround time", totalTurnaroundTime, summary.getTotalTurnaroundTime());
+            expectEqual(name + ": total waiting time", totalWaitingTime, summary.getTotalWaitingTime());
+        }
+    }
+
+    // Round Robin runs resumed from checkpoints, both in memory and after a round trip through a file,
+    // against the uninterrupted run: the same metrics, and the same schedule from the checkpoint on
+    private static void checkCheckpoints(Random random) throws IOException {
+        List<Process> processes = randomProcesses(random, 60, 1 + random.nextInt(400), 0, 14, 6);
+        Workload workload = Workload.of(processes);
+        RoundRobinScheduler scheduler = new RoundRobinScheduler(1 + random.nextInt(5));
+        ScheduleResult full = scheduler.run(workload, true);
+        String expected = describeMetrics(full);
+
+        int[] times = new int[1 + random.nextInt(5)];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = random.nextInt(full.getMakespan() + 5);
+        }
+        List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+        expectEqual("metrics of the run taking checkpoints", expected, describeMetrics(scheduler.run(workload, true, times, checkpoints::add)));
+
+        Path file = Files.createTempFile("checkpoint", ".bin");
+        try {
+            for (SimulationCheckpoint checkpoint : checkpoints) {
+                checkpoint.write(file);
+                SimulationCheckpoint reread = SimulationCheckpoint.read(file);
+                String expectedTail = describeFrom(full.getScheduleTrace(), checkpoint.getTime());
+                for (SimulationCheckpoint copy : new SimulationCheckpoint[]{checkpoint, reread}) {
+                    String from = (copy == reread ? "file checkpoint at " : "checkpoint at ") + checkpoint.getTime();
+                    ScheduleResult resumed = scheduler.resume(workload, copy, true);
+                    expectEqual("metrics resumed from " + from, expected, describeMetrics(resumed));
+                    expectEqual("schedule resumed from " + from, expectedTail, describeFrom(resumed.getScheduleTrace(), checkpoint.getTime()));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // Per-process finishing and response times, then the totals and percentiles
+    private static String describeMetrics(ScheduleResult result) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < result.getWorkload().size(); i++) {
+            text.append(result.getFinishingTime(i)).append('/').append(result.getResponseTime(i)).append(' ');
+        }
+        return text.append(describe(result.getSummary())).toString();
+    }
+
+    // The non-empty slices of a trace from the given time on, cutting a slice that spans it
+    private static String describeFrom(ScheduleTrace trace, int time) {
+        ScheduleTrace tail = new ScheduleTrace();
+        for (int i = 0; i < trace.size(); i++) {
+            int start = Math.max(time, trace.getStartTime(i));
+            if (trace.getEndTime(i) > start) {
+                tail.add(trace.getProcessId(i), start, trace.getEndTime(i));
+            }
+        }
+        return describe(tail);
+    }
+
+    // Workloads with I/O bursts on every single-CPU scheduler: each CPU burst runs only once the process is
+    // ready again, the finishing time is the end of the last CPU burst, and the I/O totals and the share of
+    // I/O time overlapped by other processes' CPU work match what the trace shows. Every fourth workload
+    // also has zero-length bursts.
+    private static void checkIoBursts(Random random) {
+        boolean zeroBursts = random.nextInt(4) == 0;
+        Workload workload = randomIoWorkload(random, 30, 100, zeroBursts ? 0 : 1, 12, 12);
+        int timeQuantum = 1 + random.nextInt(5);
+        Scheduler[] schedulers = {
+                new RoundRobinScheduler(timeQuantum),
+                new NonPreemptiveSJFScheduler(),
+                new ShortestRemainingTimeScheduler(),
+                new NonPreemptivePriorityScheduler(),
+                new NonPreemptivePriorityScheduler(1 + random.nextInt(20)),
+                new MultilevelFeedbackQueueScheduler(new int[]{timeQuantum, 2 * timeQuantum, 4 * timeQuantum}, random.nextInt(40)),
+                new CompletelyFairScheduler(),
+                new CompletelyFairScheduler(6, 1),
+        };
+        for (Scheduler scheduler : schedulers) {
+            ScheduleResult result = scheduler.run(workload);
+            ScheduleTrace trace = result.getScheduleTrace();
+            String name = scheduler.getName();
+            long totalIoTime = 0;
+            long overlapTime = 0;
+            for (int i = 0; i < workload.size(); i++) {
+                String process = name + ": P" + workload.getProcessId(i);
+                if (workload.getBurstTime(i) == 0) {
+                    continue; // Some policies drop processes with nothing to run
+                }
+                List<int[]> slices = new ArrayList<>();
+                for (int s = 0; s < trace.size(); s++) {
+                    if (trace.getProcessId(s) == workload.getProcessId(i) && trace.getEndTime(s) > trace.getStartTime(s)) {
+                        slices.add(new int[]{trace.getStartTime(s), trace.getEndTime(s)});
+                    }
+                }
+                // Walk the bursts, taking each CPU burst's time from the process's slices in order
+                int slice = 0;
+                int usedOfSlice = 0;
+                int readyTime = workload.getArrivalTime(i);
+                for (int k = 0; k < workload.getBurstCount(i); k += 2) {
+                    int burstEnd = readyTime;
+                    for (int need = workload.getBurst(i, k); need > 0; ) {
+                        expectEqual(process + " has CPU time left for burst " + k, true, slice < slices.size());
+                        int start = slices.get(slice)[0] + usedOfSlice;
+                        expectEqual(process + " runs burst " + k + " once ready at " + readyTime, true, start >= readyTime);
+                        int used = Math.min(need, slices.get(slice)[1] - start);
+                        need -= used;
+                        usedOfSlice += used;
+                        burstEnd = start + used;
+                        if (burstEnd == slices.get(slice)[1]) {
+                            slice++;
+                            usedOfSlice = 0;
+                        }
+                    }
+                    if (k + 1 < workload.getBurstCount(i)) {
+                        int ioBurst = workload.getBurst(i, k + 1);
+                        totalIoTime += ioBurst;
+                        overlapTime += trace.getBusyTimeBefore(burstEnd + ioBurst) - trace.getBusyTimeBefore(burstEnd);
+                        readyTime = burstEnd + ioBurst;
+                    } else {
+                        expectEqual(process + " finishes with its last burst", burstEnd, result.getFinishingTime(i));
+                    }
+                }
+                expectEqual(process + " has no CPU time beyond its bursts", slices.size(), slice);
+                expectEqual(process + " has a non-negative waiting time", true, result.getWaitingTime(i) >= 0);
+            }
+            if (!zeroBursts) {
+                expectEqual(name + ": total I/O time", totalIoTime, result.getSummary().getTotalIoTime());
+                expectEqual(name + ": I/O overlap", totalIoTime == 0 ? 0.0 : (double) overlapTime / totalIoTime, result.getIoOverlap());
+            }
+            expectEqual(name + ": CPU utilization at most 1", true, result.getCpuUtilization() <= 1);
+        }
+    }
+
+    // CFS on I/O-heavy workloads: every slice a process does not complete with must be charged to its
+    // virtual runtime, also when the process blocks for I/O. Otherwise an I/O-bound process gets its
+    // CPU bursts for free and keeps running ahead of the CPU-bound ones.
+    private static void checkCfsChargesIoBoundProcesses(Random random) {
+        Workload workload = randomIoWorkload(random, 30, 60, 1, 12, 30);
+        SimulationKernel kernel = new SimulationKernel(workload, false, null);
+        int minGranularity = 1 + random.nextInt(4);
+        CompletelyFairScheduler.Policy cfs = new CompletelyFairScheduler.Policy(kernel, minGranularity + random.nextInt(30), minGranularity);
+
+        int n = workload.size();
+        long[] cpuTimes = new long[n];
+        long[] chargedTimes = new long[n];
+        long[] lastSlices = new long[n];
+        long[] chargedVruntimes = new long[n];
+        long[] expectedVruntimes = new long[n];
+        long[] vruntimeAtDispatch = new long[1];
+        kernel.run(new SchedulingPolicy() {
+            @Override
+            public void onArrival(int process) {
+                cfs.onArrival(process);
+            }
+
+            @Override
+            public void onWakeup(int process, int readyTime) {
+                cfs.onWakeup(process, readyTime);
+            }
+
+            @Override
+            public int selectNext() {
+                int process = cfs.selectNext();
+                if (process >= 0) {
+                    vruntimeAtDispatch[0] = cfs.getVruntime(process);
+                }
+                return process;
+            }
+
+            @Override
+            public int sliceLength(int process) {
+                int slice = cfs.sliceLength(process);
+                cpuTimes[process] += slice; // CFS slices are never cut short
+                lastSlices[process] = slice;
+                return slice;
+            }
+
+            @Override
+            public void onPreempted(int process, int ranTime) {
+                cfs.onPreempted(process, ranTime);
+                charged(process, ranTime);
+            }
+
+            @Override
+            public void onBlocked(int process, int ranTime) {
+                cfs.onBlocked(process, ranTime);
+                charged(process, ranTime);
+            }
+
+            private void charged(int process, int ranTime) {
+                chargedTimes[process] += ranTime;
+                chargedVruntimes[process] += cfs.getVruntime(process) - vruntimeAtDispatch[0];
+                expectedVruntimes[process] += CompletelyFairScheduler.virtualRuntime(ranTime,
+                        CompletelyFairScheduler.weightOf(workload.getPriority(process)));
+            }
+        });
+
+        long chargedTotal = 0;
+        long expectedTotal = 0;
+        for (int i = 0; i < n; i++) {
+            String process = "P" + workload.getProcessId(i);
+            expectEqual(process + " CPU time", (long) workload.getBurstTime(i), cpuTimes[i]);
+            expectEqual(process + " CPU time charged, all but the final slice", cpuTimes[i] - lastSlices[i], chargedTimes[i]);
+            chargedTotal += chargedVruntimes[i];
+            expectedTotal += expectedVruntimes[i];
+        }
+        expectEqual("total virtual runtime charged", expectedTotal, chargedTotal);
+    }
+
+    // IntRedBlackTree against a TreeSet model under random adds, removes and polls. Keys come from a
+    // small range half of the time, so equal keys, which must come out in insertion order, are common.
+    // Every model entry packs the key, the insertion number and the value, in that order of significance.
+    private static void checkRedBlackTree(Random random) {
+        int capacity = 1 + random.nextInt(64);
+        int keyRange = random.nextBoolean() ? 3 : 1_000_000;
+        IntRedBlackTree tree = new IntRedBlackTree(capacity);
+        TreeSet<Long> model = new TreeSet<>();
+        long[] entries = new long[capacity];
+        boolean[] members = new boolean[capacity];
+        int additions = 0;
+        for (int step = 0; step < 300; step++) {
+            int value = random.nextInt(capacity);
+            int operation = random.nextInt(10);
+            if (operation < 5 && !members[value]) {
+                long key = random.nextInt(2 * keyRange + 1) - keyRange;
+                tree.add(value, key);
+                entries[value] = (key << 40) | ((long) additions++ << 8) | value;
+                model.add(entries[value]);
+                members[value] = true;
+            } else if (operation < 7 && members[value]) {
+                tree.remove(value);
+                model.remove(entries[value]);
+                members[value] = false;
+            } else if (operation < 9 && !model.isEmpty()) {
+                int first = (int) (model.pollFirst() & 0xFF);
+                expectEqual("polled value at step " + step, first, tree.poll());
+                members[first] = false;
+            } else {
+                // Adding a member twice or removing a non-member is refused and leaves the tree as it was
+                boolean refused = false;
+                try {
+                    if (members[value]) {
+                        tree.add(value, 0);
+                    } else {
+                        tree.remove(value);
+                    }
+                } catch (IllegalStateException e) {
+                    refused = true;
+                }
+                expectEqual((members[value] ? "adding member " : "removing non-member ") + value + " is refused", true, refused);
+            }
+
+            expectEqual("size at step " + step, model.size(), tree.size());
+            expectEqual("emptiness at step " + step, model.isEmpty(), tree.isEmpty());
+            if (!model.isEmpty()) {
+                expectEqual("smallest value at step " + step, (int) (model.first() & 0xFF), tree.peek());
+                expectEqual("smallest key at step " + step, model.first() >> 40, tree.peekKey());
+            }
+            for (int i = 0; i < capacity; i++) {
+                if (tree.contains(i) != members[i]) {
+                    throw new AssertionError("membership of " + i + " at step " + step + ": expected " + members[i]);
+                }
+            }
+        }
+        while (!model.isEmpty()) {
+            expectEqual("value drained in order", (int) (model.pollFirst() & 0xFF), tree.poll());
+        }
+        expectEqual("emptiness after draining", true, tree.isEmpty());
+    }
+
+    // CFS on CPU-bound processes that all arrive at once: at any time each has had CPU in proportion to
+    // its weight, worked out here as 1024 / 1.25^nice rather than read from the scheduler's table, which
+    // is within 3% of it. The process with the smallest virtual runtime always runs next, so virtual
+    // runtimes stay within one slice's charge of each other, and a process of weight w is off its share
+    // by at most w times the largest slice / weight of any process, plus the slice running at the horizon.
+    private static void checkCfsShares(Random random) {
+        int n = 2 + random.nextInt(5);
+        int horizon = 10_000;
+        List<Process> processes = new ArrayList<>(n);
+        double[] weights = new double[n];
+        double totalWeight = 0;
+        for (int i = 0; i < n; i++) {
+            int nice = random.nextInt(21) - 10;
+            processes.add(new Process(i + 1, 0, horizon, nice)); // Nobody can finish before the horizon
+            weights[i] = 1024 / Math.pow(1.25, nice);
+            totalWeight += weights[i];
+        }
+        ScheduleTrace trace = new CompletelyFairScheduler().run(Workload.of(processes)).getScheduleTrace();
+
+        long[] cpuTimes = new long[n];
+        for (int s = 0; s < trace.size() && trace.getStartTime(s) < horizon; s++) {
+            cpuTimes[trace.getProcessId(s) - 1] += Math.min(trace.getEndTime(s), horizon) - trace.getStartTime(s);
+        }
+        int period = Math.max(CompletelyFairScheduler.DEFAULT_TARGET_LATENCY, n * CompletelyFairScheduler.DEFAULT_MIN_GRANULARITY);
+        double spread = 0; // Largest slice / weight, i.e. the largest charge in ticks at nice 0 per 1024
+        for (double weight : weights) {
+            spread = Math.max(spread, Math.max(1.0, period * weight / totalWeight) / weight);
+        }
+        for (int i = 0; i < n; i++) {
+            double expected = horizon * weights[i] / totalWeight;
+            double tolerance = weights[i] * spread + period + 0.03 * expected;
+            if (Math.abs(cpuTimes[i] - expected) > tolerance) {
+                throw new AssertionError("P" + (i + 1) + " at nice " + processes.get(i).priority + " ran " + cpuTimes[i]
+                        + " of " + horizon + " ticks, expected " + Math.round(expected) + " +- " + Math.round(tolerance));
+            }
+        }
+    }
+
+    // Between 1 and maxProcesses processes with IDs from 1, arrivals in [0, arrivalSpread), nice values
+    // -20..19 and 1 to 13 alternating CPU and I/O bursts, CPU bursts in [minBurst, maxCpuBurst] and I/O
+    // bursts in [minBurst, maxIoBurst]
+    private static Workload randomIoWorkload(Random random, int maxProcesses, int arrivalSpread, int minBurst,
+                                             int maxCpuBurst, int maxIoBurst) {
+        Workload.Builder builder = new Workload.Builder();
+        int[] bursts = new int[13];
+        int n = 1 + random.nextInt(maxProcesses);
+        for (int i = 0; i < n; i++) {
+            int count = random.nextInt(4) == 0 ? 1 : 3 + 2 * random.nextInt(6);
+            for (int k = 0; k < count; k++) {
+                int maxBurst = k % 2 == 0 ? maxCpuBurst : maxIoBurst;
+                bursts[k] = minBurst + random.nextInt(maxBurst - minBurst + 1);
+            }
+            builder.add(i + 1, random.nextInt(arrivalSpread), random.nextInt(40) - 20, bursts, count);
+        }
+        return builder.build();
+    }
+
+    // TextWorkloadReader on random traces written with comments, blank lines, mixed separators and an
+    // optional header line: they must read back unchanged. The same trace with a misspelt header, a
+    // second header line, a letter in its first record or a negative arrival, burst or I/O time in any
+    // record must be rejected, naming that line. A negative priority, i.e. a nice value, is accepted.
+    private static void checkTextWorkloadReader(Random random) throws IOException {
+        List<Process> processes = randomProcesses(random, 20, 50, 0, 9, 5);
+        List<String> lines = new ArrayList<>();
+        if (random.nextBoolean()) {
+            lines.add("# " + processes.size() + " processes");
+        }
+        boolean withHeader = random.nextBoolean();
+        if (withHeader) {
+            lines.add(random.nextBoolean() ? "pid,arrival,burst,priority" : "PID  Arrival\tBurst Priority # columns");
+        }
+        int firstRecord = lines.size();
+        int[] recordLines = new int[processes.size()];
+        for (int i = 0; i < processes.size(); i++) {
+            Process process = processes.get(i);
+            if (random.nextInt(5) == 0) {
+                lines.add(random.nextBoolean() ? "" : "# comment");
+            }
+            String separator = random.nextBoolean() ? "," : " \t";
+            recordLines[i] = lines.size();
+            lines.add(process.processID + separator + process.arrivalTime + separator + process.burstTime + separator
+                    + process.priority + (random.nextBoolean() ? "\r" : ""));
+        }
+        while (lines.get(firstRecord).isEmpty() || lines.get(firstRecord).startsWith("#")) {
+            firstRecord++;
+        }
+
+        Path file = Files.createTempFile("workload", ".txt");
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            Workload workload = TextWorkloadReader.read(file);
+            StringBuilder expected = new StringBuilder();
+            StringBuilder actual = new StringBuilder();
+            for (int i = 0; i < processes.size(); i++) {
+                Process process = processes.get(i);
+                expected.append(process.processID).append(',').append(process.arrivalTime).append(',')
+                        .append(process.burstTime).append(',').append(process.priority).append(' ');
+                actual.append(workload.processIds[i]).append(',').append(workload.arrivalTimes[i]).append(',')
+                        .append(workload.burstTimes[i]).append(',').append(workload.priorities[i]).append(' ');
+            }
+            expectEqual("records read back", expected.toString(), actual.toString());
+
+            int badLine;
+            switch (random.nextInt(4)) {
+                case 0:
+                    lines.add(firstRecord, "pid,arival,burst,priority");
+                    badLine = firstRecord;
+                    break;
+                case 1:
+                    // A header line is only accepted once, and only before the first record
+                    int at = withHeader ? firstRecord : firstRecord + 1;
+                    lines.add(at, "pid,arrival,burst,priority");
+                    badLine = at;
+                    break;
+                case 2:
+                    lines.set(firstRecord, "P" + lines.get(firstRecord));
+                    badLine = firstRecord;
+                    break;
+                default:
+                    int record = random.nextInt(processes.size());
+                    Process process = processes.get(record);
+                    int negative = random.nextInt(4);
+                    badLine = recordLines[record];
+                    lines.set(badLine, process.processID + "," + (negative == 0 ? -1 - process.arrivalTime : process.arrivalTime)
+                            + "," + (negative == 1 ? -1 - process.burstTime : process.burstTime) + "," + -process.priority
+                            + (negative == 2 ? ",-1,1" : negative == 3 ? ",1,-1" : ""));
+                    break;
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            String where = file + ":" + (badLine + 1) + ": ";
+            String error = "no error";
+            try {
+                TextWorkloadReader.read(file);
+            } catch (IOException e) {
+                error = e.getMessage();
+            }
+            if (!error.startsWith(where)) {
+                throw new AssertionError("\"" + lines.get(badLine) + "\" on line " + (badLine + 1) + " was not rejected there: " + error);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // GanttTextWriter against the String-based formatters it replaced, byte for byte, through a Writer and
+    // through a channel. Every tenth schedule is long enough to cross the writer's chunk boundary.
+    private static void checkGanttText(Random random) throws IOException {
+        int maxProcesses = random.nextInt(10) == 0 ? 2000 : 40;
+        List<Process> processes = randomProcesses(random, maxProcesses, 2 * maxProcesses, 0, 12, 3);
+        ScheduleTrace trace = new RoundRobinScheduler(1 + random.nextInt(4)).run(Workload.of(processes)).getScheduleTrace();
+
+        StringJoiner chain = new StringJoiner(" -> ");
+        StringJoiner markers = new StringJoiner(", ", "[", "]");
+        StringBuilder simpleChart = new StringBuilder("| ");
+        StringBuilder rows = new StringBuilder();
+        for (int i = 0; i < trace.size(); i++) {
+            chain.add(trace.getLabel(i));
+            markers.add(String.valueOf(trace.getEndTime(i)));
+            simpleChart.append(trace.getLabel(i)).append(" | ");
+            rows.append(trace.getLabel(i) + " " + trace.getStartTime(i) + " " + trace.getEndTime(i) + "\n");
+        }
+        simpleChart.append("\n0    ");
+        for (int i = 0; i < trace.size(); i++) {
+            simpleChart.append(trace.getEndTime(i) + "    ");
+        }
+        String expected = formattedGanttChart(trace) + "\n" + chain + "\n" + markers + "\n" + simpleChart + "\n" + rows;
+
+        StringWriter text = new StringWriter();
+        try (GanttTextWriter gantt = new GanttTextWriter(text)) {
+            writeAllForms(gantt, trace);
+        }
+        expectEqual("text written to a Writer", expected, text.toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GanttTextWriter gantt = new GanttTextWriter(Channels.newChannel(bytes))) {
+            writeAllForms(gantt, trace);
+        }
+        expectEqual("text written to a channel", expected, new String(bytes.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    private static void writeAllForms(GanttTextWriter gantt, ScheduleTrace trace) throws IOException {
+        gantt.writeChart(trace);
+        gantt.writeChain(trace);
+        gantt.writeMarkers(trace);
+        gantt.writeSimpleChart(trace);
+        gantt.writeRows(trace);
+    }
+
+    // The fixed-width chart as ScheduleResultsFrame formatted it before GanttTextWriter
+    private static String formattedGanttChart(ScheduleTrace trace) {
+        StringBuilder chartLine = new StringBuilder("|");
+        for (int i = 0; i < trace.size(); i++) {
+            chartLine.append(String.format(" %-7s|", trace.getLabel(i)));
+        }
+        StringBuilder timeLine = new StringBuilder(" ");
+        int twoDigitCount = 0;
+        for (int i = 0; i <= trace.size(); i++) {
+            int marker = (i == 0) ? (trace.isEmpty() ? 0 : trace.getStartTime(0)) : trace.getEndTime(i - 1);
+            if (marker >= 10) {
+                twoDigitCount++;
+            }
+            if (i == 0) {
+                timeLine.append(String.format("%-8d", marker));
+            } else if (i == 1) {
+                timeLine.append(String.format("%-10d", marker));
+            } else if (twoDigitCount >= 2) {
+                timeLine.append(String.format("%-9d", marker));
+            } else {
+                timeLine.append(String.format("%-11d", marker));
+            }
+        }
+        return chartLine + "\n" + timeLine;
+    }
+
+    // Orders by arrival time, then process ID
+    private static int compareArrival(Process first, Process second) {
+        int order = Integer.compare(first.arrivalTime, second.arrivalTime);
+        return order != 0 ? order : Integer.compare(first.processID, second.processID);
+    }
+
+    // Orders by remaining time, then priority, arrival time and process ID
+    private static int compareShortest(List<Process> processes, int[] remainingTimes, int a, int b) {
+        Process first = processes.get(a);
+        Process second = processes.get(b);
+        int order = Integer.compare(remainingTimes[a], remainingTimes[b]);
+        if (order == 0) {
+            order = Integer.compare(first.priority, second.priority);
+        }
+        if (order == 0) {
+            order = Integer.compare(first.arrivalTime, second.arrivalTime);
+        }
+        if (order == 0) {
+            order = Integer.compare(first.processID, second.processID);
+        }
+        return order;
+    }
+
+    // Between 1 and maxProcesses processes with IDs from 1, arrivals in [0, arrivalSpread) and bursts in
+    // [minBurst, maxBurst], in no particular order
+    private static List<Process> randomProcesses(Random random, int maxProcesses, int arrivalSpread, int minBurst,
+                                                 int maxBurst, int priorities) {
+        int n = 1 + random.nextInt(maxProcesses);
+        List<Process> processes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            processes.add(new Process(i + 1, random.nextInt(arrivalSpread), minBurst + random.nextInt(maxBurst - minBurst + 1),
+                    random.nextInt(priorities)));
+        }
+        return processes;
+    }
+
+    // Every slice of a trace, e.g. "IDLE 0-2 P2 2-5 P1 5-6 "
+    private static String describe(ScheduleTrace trace) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < trace.size(); i++) {
+            appendSlice(text, trace.getProcessId(i), trace.getStartTime(i), trace.getEndTime(i));
+        }
+        return text.toString();
+    }
+
+    // The slices of a trace in which a process ran, e.g. "P2 0-3 P1 3-4 "
+    private static String describeBusySlices(ScheduleTrace trace) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < trace.size(); i++) {
+            if (!trace.isIdle(i)) {
+                appendSlice(text, trace.getProcessId(i), trace.getStartTime(i), trace.getEndTime(i));
+            }
+        }
+        return text.toString();
+    }
+
+    // The totals and percentiles of a summary
+    private static String describe(ScheduleSummary summary) {
+        return summary.getCompletedProcesses() + " completed, " + summary.getContextSwitches() + " switches, makespan "
+                + summary.getMakespan() + ", turnaround " + summary.getTotalTurnaroundTime() + ", waiting "
+                + summary.getTotalWaitingTime() + ", " + summary.formatPercentiles();
+    }
+
+    private static void appendSlice(StringBuilder text, int processId, int start, int end) {
+        text.append(ScheduleTrace.label(processId)).append(' ').append(start).append('-').append(end).append(' ');
+    }
+
+    private static void expectEqual(String what, Object expected, Object actual) {
+        if (expected.equals(actual)) {
+            return;
+        }
+        if (expected instanceof String && actual instanceof String) {
+            // Long texts are reported from the first difference on
+            String expectedText = (String) expected;
+            String actualText = (String) actual;
+            int first = 0;
+            while (first < expectedText.length() && first < actualText.length()
+                    && expectedText.charAt(first) == actualText.charAt(first)) {
+                first++;
+            }
+            if (first > 40) {
+                throw new AssertionError(what + " differs at character " + first + ": expected ..." + excerpt(expectedText, first - 20)
+                        + " but was ..." + excerpt(actualText, first - 20));
+            }
+        }
+        throw new AssertionError(what + ": expected " + expected + " but was " + actual);
+    }
+
+    private static String excerpt(String text, int from) {
+        return text.length() - from <= 80 ? text.substring(from) : text.substring(from, from + 80) + "...";
+    }
+}
@@ -0,0 +1,47 @@
+// Scheduling decisions plugged into SimulationKernel. The kernel owns the clock, the timers, the
+// remaining times and the result; a policy only keeps its ready queue in whatever order it likes.
+// Processes are workload indices.
+interface SchedulingPolicy {
+    // The process has arrived; called in arrival order, whenever the CPU next looks for work
+    void onArrival(int process);
+
+    // The process is back from an I/O burst that ended at readyTime, with its next CPU burst in
+    // SimulationKernel.remainingTimes. By default it is queued like a new arrival.
+    default void onWakeup(int process, int readyTime) {
+        onArrival(process);
+    }
+
+    // Removes and returns the process to run next, or -1 when nothing is ready
+    int selectNext();
+
+    // How long the selected process may run before it has to give up the CPU, at most its remaining time
+    int sliceLength(int process);
+
+    // The process ran for ranTime and still has work left, because its slice ran out or it was preempted
+    void onPreempted(int process, int ranTime);
+
+    // The process ran for ranTime, finishing a CPU burst, and is now blocked on its next I/O burst. It
+    // comes back through onWakeup.
+    default void onBlocked(int process, int ranTime) {
+    }
+
+    // Asked when the process is dispatched: whether the next arrival, or the next process back from I/O,
+    // should cut its slice short
+    default boolean preemptedByArrivals(int process) {
+        return false;
+    }
+
+    // A timer set with SimulationKernel.setTimer has fired
+    default void onTimer(int value) {
+    }
+
+    // The ready queue and any other policy state as ints, for a checkpoint taken between two slices
+    default int[] saveState() {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support checkpoints");
+    }
+
+    // Takes over the state saved by saveState, before the kernel continues a run from a checkpoint
+    default void restoreState(int[] state) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not support checkpoints");
+    }
+}
@@ -0,0 +1,61 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ShortestRemainingTimeGUI extends JFrame {
+    public ShortestRemainingTimeGUI() {
+        setTitle("Shortest Remaining Time Scheduler");
+        setSize(600, 400);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Title panel setup
+        JPanel titlePanel = Styles.titlePanel("Shortest Remaining Time Scheduler");
+        add(titlePanel, BorderLayout.NORTH);
+
+        // Input panel setup
+        JPanel inputPanel = new JPanel(new GridLayout(0, 1, 10, 10));
+        inputPanel.setBorder(BorderFactory.createEmptyBorder(30, 50, 30, 50));
+
+        JTextField processField = new JTextField();
+        inputPanel.add(new JLabel("Enter Number of Processes:"));
+        inputPanel.add(processField);
+
+        JButton nextButton = Styles.button("Next");
+        inputPanel.add(nextButton);
+
+        add(inputPanel, BorderLayout.CENTER);
+
+        nextButton.addActionListener(e -> {
+            try {
+                int numProcesses = Integer.parseInt(processField.getText());
+
+                if (numProcesses <= 0) {
+                    JOptionPane.showMessageDialog(this, "Please enter a positive number of processes.", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                List<Process> processes = new ArrayList<>();
+                for (int i = 0; i < numProcesses; i++) {
+                    int burstTime = Integer.parseInt(JOptionPane.showInputDialog("Enter Burst Time for P" + i + ":"));
+                    int arrivalTime = Integer.parseInt(JOptionPane.showInputDialog("Enter Arrival Time for P" + i + ":"));
+                    int priority = Integer.parseInt(JOptionPane.showInputDialog("Enter Priority for P" + i + ":"));
+                    processes.add(new Process(i, arrivalTime, burstTime, priority));
+                }
+
+                ScheduleProgressFrame.run("Shortest Remaining Time", new ShortestRemainingTimeScheduler(),
+                        Workload.of(processes),
+                        result -> new ScheduleResultsFrame("Shortest Remaining Time Results", result).setVisible(true));
+
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(this, "Invalid input. Please enter numeric values.", "Error", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+
+        setVisible(true);
+    }
+
+    public static void main(String[] args) {
+        new ShortestRemainingTimeGUI();
+    }
+}
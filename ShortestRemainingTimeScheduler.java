@@ -0,0 +1,78 @@
+// Shortest Remaining Time (preemptive SJF) scheduler.
+// Instead of simulating tick by tick, the ready queue is a binary heap keyed by remaining time that is
+// only touched on arrival and completion events, which keeps a run at O(n log n).
+public class ShortestRemainingTimeScheduler implements Scheduler {
+
+    @Override
+    public String getName() {
+        return "Shortest Remaining Time";
+    }
+
+    @Override
+    public ScheduleResult run(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        SimulationKernel kernel = new SimulationKernel(workload, recordTrace, listener);
+        return kernel.run(new Policy(kernel));
+    }
+
+    // The process with the shortest remaining time runs until it completes or the next process arrives,
+    // whichever comes first. Only then can a different process become the shortest one.
+    private static final class Policy implements SchedulingPolicy {
+        private final SimulationKernel kernel;
+        private final IntMinHeap readyQueue;
+
+        Policy(SimulationKernel kernel) {
+            this.kernel = kernel;
+            Workload workload = kernel.workload;
+            int[] arrivalTimes = workload.arrivalTimes;
+            int[] priorities = workload.priorities;
+            int[] processIds = workload.processIds;
+            int[] remainingTimes = kernel.remainingTimes;
+
+            // Ready queue ordered by remaining time, then priority, arrival time and process ID
+            readyQueue = new IntMinHeap((a, b) -> {
+                int order = Integer.compare(remainingTimes[a], remainingTimes[b]);
+                if (order == 0) {
+                    order = Integer.compare(priorities[a], priorities[b]);
+                }
+                if (order == 0) {
+                    order = Integer.compare(arrivalTimes[a], arrivalTimes[b]);
+                }
+                if (order == 0) {
+                    order = Integer.compare(processIds[a], processIds[b]);
+                }
+                return order;
+            }, workload.size());
+        }
+
+        @Override
+        public void onArrival(int process) {
+            if (kernel.remainingTimes[process] > 0) {
+                readyQueue.add(process);
+            } else {
+                kernel.discard(process); // Nothing to run for this process
+            }
+        }
+
+        @Override
+        public int selectNext() {
+            return readyQueue.isEmpty() ? -1 : readyQueue.poll();
+        }
+
+        @Override
+        public int sliceLength(int process) {
+            return kernel.remainingTimes[process];
+        }
+
+        // Put the process back with its reduced remaining time, so the newly arrived processes can
+        // preempt it if they are shorter
+        @Override
+        public void onPreempted(int process, int ranTime) {
+            readyQueue.add(process);
+        }
+
+        @Override
+        public boolean preemptedByArrivals(int process) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Snapshot of a simulation taken between two slices: the clock, the arrival cursor, the remaining and
+// finishing times, the running totals and the policy's ready queue. A run resumed from it continues
+// exactly like the run it was taken from. A checkpoint is immutable, so any number of runs, also on
+// different threads, can be resumed from the same one.
+//
+// Processes that had not arrived yet still have their workload values, so per-process state is only
+// kept for the first nextArrival processes in arrival order. A checkpoint at hour 12 of a day holds
+// about half of the per-process arrays.
+//
+// File layout (big-endian, DataOutputStream): magic "CPUK", format version, policy name, workload size
+// and fingerprint, clock, cursor, completed processes and last dispatched process, then nextArrival
+// remaining, finishing and first start times, the running totals and the policy state.
+public final class SimulationCheckpoint {
+    static final int MAGIC = 0x4350554B; // "CPUK"
+    static final int VERSION = 2;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    final String policyName;         // Policy that can continue from this checkpoint
+    final int workloadSize;
+    final long workloadFingerprint;  // Guards against resuming with a different workload
+    final int time;
+    final int nextArrival;           // Processes in arrival order that had been admitted
+    final int handledProcesses;
+    final int lastDispatched;
+    // Indexed by position in the arrival order, for the admitted processes only
+    final int[] remainingTimes;
+    final int[] finishingTimes;
+    final int[] firstStartTimes;
+    final ScheduleSummary summary;
+    final int[] policyState;
+
+    SimulationCheckpoint(String policyName, int workloadSize, long workloadFingerprint, int time, int nextArrival,
+                         int handledProcesses, int lastDispatched, int[] remainingTimes, int[] finishingTimes,
+                         int[] firstStartTimes, ScheduleSummary summary, int[] policyState) {
+        this.policyName = policyName;
+        this.workloadSize = workloadSize;
+        this.workloadFingerprint = workloadFingerprint;
+        this.time = time;
+        this.nextArrival = nextArrival;
+        this.handledProcesses = handledProcesses;
+        this.lastDispatched = lastDispatched;
+        this.remainingTimes = remainingTimes;
+        this.finishingTimes = finishingTimes;
+        this.firstStartTimes = firstStartTimes;
+        this.summary = summary;
+        this.policyState = policyState;
+    }
+
+    // Simulated time at which the checkpoint was taken
+    public int getTime() {
+        return time;
+    }
+
+    public long getCompletedProcesses() {
+        return summary.getCompletedProcesses();
+    }
+
+    public void write(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_BYTES))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(policyName);
+            out.writeInt(workloadSize);
+            out.writeLong(workloadFingerprint);
+            out.writeInt(time);
+            out.writeInt(nextArrival);
+            out.writeInt(handledProcesses);
+            out.writeInt(lastDispatched);
+            for (int i = 0; i < nextArrival; i++) {
+                out.writeInt(remainingTimes[i]);
+                out.writeInt(finishingTimes[i]);
+                out.writeInt(firstStartTimes[i]);
+            }
+            summary.write(out);
+            out.writeInt(policyState.length);
+            for (int value : policyState) {
+                out.writeInt(value);
+            }
+        }
+    }
+
+    public static SimulationCheckpoint read(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_BYTES))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(path + " is not a checkpoint file");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException(path + " has unsupported checkpoint format version " + version);
+            }
+            String policyName = in.readUTF();
+            int workloadSize = in.readInt();
+            long workloadFingerprint = in.readLong();
+            int time = in.readInt();
+            int nextArrival = in.readInt();
+            int handledProcesses = in.readInt();
+            int lastDispatched = in.readInt();
+            if (nextArrival < 0 || nextArrival > workloadSize) {
+                throw new IOException(path + " is corrupt: " + nextArrival + " of " + workloadSize + " processes admitted");
+            }
+            int[] remainingTimes = new int[nextArrival];
+            int[] finishingTimes = new int[nextArrival];
+            int[] firstStartTimes = new int[nextArrival];
+            for (int i = 0; i < nextArrival; i++) {
+                remainingTimes[i] = in.readInt();
+                finishingTimes[i] = in.readInt();
+                firstStartTimes[i] = in.readInt();
+            }
+            ScheduleSummary summary = ScheduleSummary.read(in);
+            int policyStateLength = in.readInt();
+            if (policyStateLength < 0) {
+                throw new IOException(path + " is corrupt: policy state of " + policyStateLength + " values");
+            }
+            int[] policyState = new int[policyStateLength];
+            for (int i = 0; i < policyStateLength; i++) {
+                policyState[i] = in.readInt();
+            }
+            return new SimulationCheckpoint(policyName, workloadSize, workloadFingerprint, time, nextArrival,
+                    handledProcesses, lastDispatched, remainingTimes, finishingTimes, firstStartTimes, summary, policyState);
+        } catch (EOFException e) {
+            throw new IOException(path + " is truncated", e);
+        }
+    }
+
+    // Hash of every process of the workload, in input order
+    static long fingerprint(Workload workload) {
+        long hash = workload.size();
+        for (int i = 0; i < workload.size(); i++) {
+            hash = hash * 31 + workload.processIds[i];
+            hash = hash * 31 + workload.arrivalTimes[i];
+            hash = hash * 31 + workload.burstTimes[i];
+            hash = hash * 31 + workload.priorities[i];
+        }
+        return hash;
+    }
+}
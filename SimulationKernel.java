@@ -0,0 +1,280 @@
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Discrete-event simulation of one CPU, shared by the single-CPU schedulers. The kernel owns the clock,
+// the remaining times and the schedule result, and asks a SchedulingPolicy what to run.
+//
+// There are three kinds of events. Arrivals come from the workload's arrival order, which is already
+// sorted, so the next one is always at hand. The end of the running slice, through quantum expiry,
+// completion or an arrival the policy lets preempt it, is known when the slice is dispatched. Policy
+// timers (aging deadlines, priority boosts) can be set for any time and any number of processes, so
+// they go into a TimingWheel. Timers fire in time order, also while a slice runs.
+//
+// Whenever the CPU becomes free, every process that has arrived by then is handed to the policy and the
+// policy picks the next process. A process whose slice ran out is put back before those arrivals, so a
+// Round Robin policy queues it ahead of the processes that arrived during its slice.
+//
+// In workloads with I/O bursts, remainingTimes is what is left of the current CPU burst. A process that
+// finishes a CPU burst before its last is blocked in a second TimingWheel, keyed by the time its I/O
+// burst ends. Processes back from I/O are handed to the policy together with the arrivals, in time
+// order, and a policy that lets arrivals preempt is also preempted by them.
+//
+// That is also the point where a SimulationCheckpoint is taken: the state between two slices is the
+// kernel's clock, cursor and remaining times, the result so far and the policy's ready queue.
+final class SimulationKernel {
+    final Workload workload;
+    final int[] remainingTimes;
+    int currentTime = 0;
+    int running = -1; // Process on the CPU, or -1
+
+    private final ScheduleResult result;
+    private final TimingWheel timers = new TimingWheel();
+    private int nextArrival = 0; // Position in the arrival order of the next process to admit
+    private int handledProcesses = 0;
+
+    // I/O state, all null for workloads of pure CPU jobs
+    private final TimingWheel blocked;  // Blocked processes, keyed by the end of their I/O burst
+    private final int[] nextBursts;     // Position of each process's current CPU burst in workload.bursts
+    private final long[] busyAtBlock;   // CPU busy time when each blocked process started its I/O burst
+    private long busyTime = 0;          // CPU time handed out so far
+    private int lastSliceStart = 0;
+    private int lastSliceEnd = 0;
+
+    private String policyName;
+    private long workloadFingerprint;
+    private int[] checkpointTimes = new int[0]; // Ascending
+    private int nextCheckpoint = 0;
+    private int nextCheckpointTime = Integer.MAX_VALUE;
+    private Consumer<SimulationCheckpoint> checkpoints;
+
+    SimulationKernel(Workload workload, boolean recordTrace, ScheduleProgressListener listener) {
+        this.workload = workload;
+        this.result = new ScheduleResult(workload, recordTrace, listener);
+        if (workload.hasIoBursts()) {
+            int n = workload.size();
+            this.blocked = new TimingWheel();
+            this.nextBursts = Arrays.copyOf(workload.burstOffsets, n);
+            this.busyAtBlock = new long[n];
+            this.remainingTimes = new int[n];
+            for (int i = 0; i < n; i++) {
+                remainingTimes[i] = workload.bursts[nextBursts[i]];
+            }
+        } else {
+            this.blocked = null;
+            this.nextBursts = null;
+            this.busyAtBlock = null;
+            this.remainingTimes = workload.burstTimes.clone();
+        }
+    }
+
+    // Fires policy.onTimer(value) at the given time, which must not be in the past
+    void setTimer(int time, int value) {
+        timers.add(time, value);
+    }
+
+    // Marks a process the policy will not run (no CPU time needed) as done, without a completion
+    void discard(int process) {
+        handledProcesses++;
+    }
+
+    // Takes a checkpoint at the first point between two slices at or after each of the given times, which
+    // must be ascending. Times after the end of the run are skipped.
+    void takeCheckpoints(String policyName, int[] times, Consumer<SimulationCheckpoint> checkpoints) {
+        if (blocked != null) {
+            throw new IllegalArgumentException("Checkpoints of workloads with I/O bursts are not supported");
+        }
+        this.policyName = policyName;
+        this.workloadFingerprint = SimulationCheckpoint.fingerprint(workload);
+        this.checkpointTimes = times;
+        this.checkpoints = checkpoints;
+        this.nextCheckpoint = 0;
+        this.nextCheckpointTime = times.length > 0 ? times[0] : Integer.MAX_VALUE;
+    }
+
+    // Continues from a checkpoint taken by the named policy on the same workload, before run
+    void restore(SimulationCheckpoint checkpoint, String policyName, SchedulingPolicy policy) {
+        if (!checkpoint.policyName.equals(policyName)) {
+            throw new IllegalArgumentException("Checkpoint was taken by " + checkpoint.policyName + ", not " + policyName);
+        }
+        if (blocked != null) {
+            throw new IllegalArgumentException("Checkpoints of workloads with I/O bursts are not supported");
+        }
+        if (checkpoint.workloadSize != workload.size() || checkpoint.workloadFingerprint != SimulationCheckpoint.fingerprint(workload)) {
+            throw new IllegalArgumentException("Checkpoint was taken from a different workload");
+        }
+        int[] arrivalOrder = workload.arrivalOrder;
+        for (int i = 0; i < checkpoint.nextArrival; i++) {
+            remainingTimes[arrivalOrder[i]] = checkpoint.remainingTimes[i];
+        }
+        currentTime = checkpoint.time;
+        nextArrival = checkpoint.nextArrival;
+        handledProcesses = checkpoint.handledProcesses;
+        result.restore(checkpoint);
+        policy.restoreState(checkpoint.policyState);
+    }
+
+    ScheduleResult run(SchedulingPolicy policy) {
+        int[] arrivalTimes = workload.arrivalTimes;
+        int[] arrivalOrder = workload.arrivalOrder;
+        int n = workload.size();
+
+        while (handledProcesses < n) {
+            if (currentTime >= nextCheckpointTime) {
+                checkpoint(policy);
+            }
+            // The CPU is free: admit everything that has arrived and let the policy choose
+            if (blocked == null) {
+                while (nextArrival < n && arrivalTimes[arrivalOrder[nextArrival]] <= currentTime) {
+                    policy.onArrival(arrivalOrder[nextArrival++]);
+                }
+            } else {
+                admitWithIo(policy);
+            }
+            int process = policy.selectNext();
+            if (process < 0) {
+                if (handledProcesses == n) {
+                    break; // The last arrivals had nothing to run
+                }
+                // Nothing to run, so skip straight to the next arrival, end of I/O or timer
+                int nextTime = timers.earliestTime();
+                if (nextArrival < n) {
+                    nextTime = Math.min(nextTime, arrivalTimes[arrivalOrder[nextArrival]]);
+                }
+                if (blocked != null) {
+                    nextTime = Math.min(nextTime, blocked.earliestTime());
+                }
+                result.recordIdle(currentTime, nextTime);
+                fireTimers(policy, nextTime);
+                currentTime = nextTime;
+                continue;
+            }
+
+            running = process;
+            int start = currentTime;
+            int end = start + policy.sliceLength(process);
+            if (policy.preemptedByArrivals(process)) {
+                if (nextArrival < n) {
+                    end = Math.min(end, arrivalTimes[arrivalOrder[nextArrival]]);
+                }
+                if (blocked != null) {
+                    end = Math.min(end, blocked.earliestTime());
+                }
+            }
+            if (!timers.isEmpty()) {
+                fireTimers(policy, end);
+            }
+            currentTime = end;
+            running = -1;
+
+            int ranTime = end - start;
+            result.recordSlice(process, start, end);
+            if (blocked != null) {
+                busyTime += ranTime;
+                lastSliceStart = start;
+                lastSliceEnd = end;
+            }
+            remainingTimes[process] -= ranTime;
+            if (remainingTimes[process] > 0) {
+                policy.onPreempted(process, ranTime);
+            } else {
+                if (blocked != null && hasIoBurstLeft(process)) {
+                    policy.onBlocked(process, ranTime);
+                }
+                endCpuBurst(process, end);
+            }
+        }
+        return result;
+    }
+
+    // Hands the policy every process that has arrived or come back from I/O by now, in time order, with
+    // arrivals first on ties
+    private void admitWithIo(SchedulingPolicy policy) {
+        int[] arrivalTimes = workload.arrivalTimes;
+        int[] arrivalOrder = workload.arrivalOrder;
+        int n = workload.size();
+        while (true) {
+            int arrivalTime = nextArrival < n ? arrivalTimes[arrivalOrder[nextArrival]] : Integer.MAX_VALUE;
+            int wakeTime = blocked.earliestTime();
+            if (arrivalTime <= wakeTime && arrivalTime <= currentTime) {
+                int process = arrivalOrder[nextArrival++];
+                if (remainingTimes[process] == 0 && workload.getBurstCount(process) > 1) {
+                    endCpuBurst(process, arrivalTime); // Starts with I/O; the policy sees it afterwards
+                } else {
+                    policy.onArrival(process);
+                }
+            } else if (wakeTime <= currentTime) {
+                int process = blocked.poll();
+                result.recordIoOverlap(busyTimeAt(wakeTime) - busyAtBlock[process]);
+                remainingTimes[process] = workload.bursts[nextBursts[process]];
+                if (remainingTimes[process] == 0) {
+                    endCpuBurst(process, wakeTime);
+                } else {
+                    policy.onWakeup(process, wakeTime);
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    // The process has used up its current CPU burst: it starts its next I/O burst or, after its last CPU
+    // burst, completes
+    private void endCpuBurst(int process, int time) {
+        if (blocked != null && hasIoBurstLeft(process)) {
+            int ioBurst = workload.bursts[nextBursts[process] + 1];
+            nextBursts[process] += 2;
+            busyAtBlock[process] = busyTime;
+            blocked.add(time + ioBurst, process);
+        } else {
+            result.recordCompletion(process, time);
+            handledProcesses++;
+        }
+    }
+
+    // Whether an I/O burst follows the process's current CPU burst
+    private boolean hasIoBurstLeft(int process) {
+        return nextBursts[process] + 1 < workload.burstOffsets[process + 1];
+    }
+
+    // CPU busy time up to a time since the CPU last looked for work. Only the last slice can have run
+    // since then, so the busy time of any later point is busyTime.
+    private long busyTimeAt(int time) {
+        return time >= lastSliceEnd ? busyTime : busyTime - (lastSliceEnd - Math.max(time, lastSliceStart));
+    }
+
+    private void checkpoint(SchedulingPolicy policy) {
+        if (!timers.isEmpty()) {
+            throw new IllegalStateException("Pending timers cannot be checkpointed");
+        }
+        // Only the admitted processes can differ from the workload
+        int[] arrivalOrder = workload.arrivalOrder;
+        int[] savedRemainingTimes = new int[nextArrival];
+        int[] finishingTimes = new int[nextArrival];
+        int[] firstStartTimes = new int[nextArrival];
+        for (int i = 0; i < nextArrival; i++) {
+            int process = arrivalOrder[i];
+            savedRemainingTimes[i] = remainingTimes[process];
+            finishingTimes[i] = result.getFinishingTime(process);
+            firstStartTimes[i] = result.getFirstStartTime(process);
+        }
+        ScheduleSummary summary = new ScheduleSummary();
+        summary.merge(result.getSummary());
+        checkpoints.accept(new SimulationCheckpoint(policyName, workload.size(), workloadFingerprint,
+                currentTime, nextArrival, handledProcesses, result.getLastDispatched(), savedRemainingTimes,
+                finishingTimes, firstStartTimes, summary, policy.saveState()));
+
+        // Every checkpoint time the clock has passed is served by this one checkpoint
+        while (nextCheckpoint < checkpointTimes.length && checkpointTimes[nextCheckpoint] <= currentTime) {
+            nextCheckpoint++;
+        }
+        nextCheckpointTime = nextCheckpoint < checkpointTimes.length ? checkpointTimes[nextCheckpoint] : Integer.MAX_VALUE;
+    }
+
+    // Fires every timer up to and including the given time, in time order
+    private void fireTimers(SchedulingPolicy policy, int until) {
+        while (timers.earliestTime() <= until) {
+            currentTime = timers.earliestTime();
+            policy.onTimer(timers.poll());
+        }
+    }
+}
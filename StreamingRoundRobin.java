@@ -0,0 +1,178 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Incremental Round Robin simulation for endless or very large job feeds. Processes are pushed in
+// arrival order, the simulation advances as far as the arrivals seen so far allow, and Gantt slices
+// and completed processes go straight to a sink. Only the processes that are currently in the ready
+// queue are held, in recycled slots, so memory is bounded by the ready-queue size and not by the
+// length of the trace.
+//
+// The schedule matches RoundRobinScheduler, except that processes arriving at the same time are
+// queued in feed order rather than by priority.
+public class StreamingRoundRobin implements ProcessRecordConsumer {
+    private final int timeQuantum;
+    private final ScheduleSink sink;
+    private final ScheduleSummary summary = new ScheduleSummary();
+
+    // Per-process state of the processes in the system, indexed by slot
+    private int[] processIds = new int[16];
+    private int[] arrivalTimes = new int[16];
+    private int[] burstTimes = new int[16];
+    private int[] priorities = new int[16];
+    private int[] remainingTimes = new int[16];
+    private int[] firstStartTimes = new int[16];
+    private final IntQueue freeSlots = new IntQueue();
+    private int usedSlots = 0;
+
+    private final IntQueue readyQueue = new IntQueue();
+    private int currentTime = 0;
+    private int lastArrivalTime = Integer.MIN_VALUE;
+    private int lastDispatched = -1;
+    private boolean lastDispatchedCompleted = false;
+    private boolean finished = false;
+
+    // Slice that has not been passed to the sink yet, so back-to-back slices can still be merged
+    private int pendingProcessId;
+    private int pendingStart;
+    private int pendingEnd;
+    private boolean hasPendingSlice = false;
+
+    public StreamingRoundRobin(int timeQuantum, ScheduleSink sink) {
+        if (timeQuantum <= 0) {
+            throw new IllegalArgumentException("Time quantum must be positive: " + timeQuantum);
+        }
+        this.timeQuantum = timeQuantum;
+        this.sink = sink;
+    }
+
+    // Simulates a whole feed of processes, which must be in arrival order
+    public static ScheduleSummary run(int timeQuantum, Iterator<Process> processes, ScheduleSink sink) {
+        StreamingRoundRobin simulation = new StreamingRoundRobin(timeQuantum, sink);
+        while (processes.hasNext()) {
+            Process process = processes.next();
+            simulation.accept(process.processID, process.arrivalTime, process.burstTime, process.priority);
+        }
+        return simulation.finish();
+    }
+
+    public static ScheduleSummary run(int timeQuantum, Stream<Process> processes, ScheduleSink sink) {
+        return run(timeQuantum, processes.iterator(), sink);
+    }
+
+    // Feeds the next process. Everything that happens before its arrival is simulated first.
+    @Override
+    public void accept(int processId, int arrivalTime, int burstTime, int priority) {
+        if (finished) {
+            throw new IllegalStateException("Simulation already finished");
+        }
+        if (arrivalTime < lastArrivalTime) {
+            throw new IllegalArgumentException("Processes must be fed in arrival order: P" + processId
+                    + " arrives at " + arrivalTime + " after a process arriving at " + lastArrivalTime);
+        }
+        lastArrivalTime = arrivalTime;
+
+        // Dispatch decisions at the arrival time itself wait until every process arriving then is known
+        advance(arrivalTime);
+
+        int slot = allocateSlot();
+        processIds[slot] = processId;
+        arrivalTimes[slot] = arrivalTime;
+        burstTimes[slot] = burstTime;
+        priorities[slot] = priority;
+        remainingTimes[slot] = burstTime;
+        readyQueue.add(slot);
+    }
+
+    // Runs the remaining processes to completion once the feed has ended and returns the totals
+    public ScheduleSummary finish() {
+        if (!finished) {
+            advance(Integer.MAX_VALUE);
+            flushSlice();
+            finished = true;
+        }
+        return summary;
+    }
+
+    // Totals of the processes completed so far
+    public ScheduleSummary getSummary() {
+        return summary;
+    }
+
+    // Number of processes currently held by the simulation
+    public int getProcessesInSystem() {
+        return readyQueue.size();
+    }
+
+    private void advance(int limit) {
+        while (currentTime < limit) {
+            if (readyQueue.isEmpty()) {
+                if (limit == Integer.MAX_VALUE) {
+                    return; // Feed has ended and everything has completed
+                }
+                emitSlice(ScheduleTrace.IDLE, currentTime, limit);
+                currentTime = limit;
+                return;
+            }
+
+            int slot = readyQueue.poll();
+            if (lastDispatched >= 0 && (slot != lastDispatched || lastDispatchedCompleted)) {
+                summary.recordContextSwitch();
+            }
+            lastDispatched = slot;
+            lastDispatchedCompleted = false;
+            if (remainingTimes[slot] == burstTimes[slot]) {
+                firstStartTimes[slot] = currentTime; // First time on the CPU
+            }
+
+            if (remainingTimes[slot] <= timeQuantum) {
+                emitSlice(processIds[slot], currentTime, currentTime + remainingTimes[slot]);
+                currentTime += remainingTimes[slot];
+                summary.recordCompletion(arrivalTimes[slot], burstTimes[slot], firstStartTimes[slot], currentTime);
+                sink.onCompletion(processIds[slot], arrivalTimes[slot], burstTimes[slot], priorities[slot], currentTime);
+                lastDispatchedCompleted = true;
+                freeSlots.add(slot);
+            } else {
+                emitSlice(processIds[slot], currentTime, currentTime + timeQuantum);
+                remainingTimes[slot] -= timeQuantum;
+                currentTime += timeQuantum;
+                readyQueue.add(slot);
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.poll();
+        }
+        if (usedSlots == processIds.length) {
+            int newCapacity = usedSlots * 2;
+            processIds = Arrays.copyOf(processIds, newCapacity);
+            arrivalTimes = Arrays.copyOf(arrivalTimes, newCapacity);
+            burstTimes = Arrays.copyOf(burstTimes, newCapacity);
+            priorities = Arrays.copyOf(priorities, newCapacity);
+            remainingTimes = Arrays.copyOf(remainingTimes, newCapacity);
+            firstStartTimes = Arrays.copyOf(firstStartTimes, newCapacity);
+        }
+        return usedSlots++;
+    }
+
+    private void emitSlice(int processId, int start, int end) {
+        if (hasPendingSlice && pendingProcessId == processId && pendingEnd == start) {
+            pendingEnd = end;
+            return;
+        }
+        flushSlice();
+        pendingProcessId = processId;
+        pendingStart = start;
+        pendingEnd = end;
+        hasPendingSlice = true;
+    }
+
+    private void flushSlice() {
+        if (hasPendingSlice) {
+            sink.onSlice(pendingProcessId, pendingStart, pendingEnd);
+            hasPendingSlice = false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+import javax.swing.*;
+import java.awt.*;
+
+// Look shared by every window: a title bar with a blue gradient and white text, and the blue buttons.
+final class Styles {
+    private static final Color BLUE = new Color(70, 130, 180);
+    private static final Color LIGHT_BLUE = new Color(240, 248, 255);
+
+    private Styles() {
+    }
+
+    static JButton button(String text) {
+        JButton button = new JButton(text);
+        button.setFocusPainted(false);
+        button.setFont(new Font("Arial", Font.PLAIN, 18));
+        button.setBackground(BLUE);
+        button.setForeground(Color.WHITE);
+        button.setBorder(BorderFactory.createCompoundBorder(
+                BorderFactory.createLineBorder(new Color(30, 70, 120), 2),
+                BorderFactory.createEmptyBorder(10, 15, 10, 15)));
+        button.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        return button;
+    }
+
+    // Title bar of a scheduler window
+    static JPanel titlePanel(String title) {
+        return titlePanel(title, 80, 22);
+    }
+
+    static JPanel titlePanel(String title, int height, int fontSize) {
+        JPanel titlePanel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                g2d.setPaint(new GradientPaint(0, 0, BLUE, getWidth(), getHeight(), LIGHT_BLUE));
+                g2d.fillRect(0, 0, getWidth(), getHeight());
+            }
+        };
+        titlePanel.setLayout(new BorderLayout());
+        // Only the height counts, the window's BorderLayout stretches the panel to its full width
+        titlePanel.setPreferredSize(new Dimension(0, height));
+
+        JLabel titleLabel = new JLabel(title, JLabel.CENTER);
+        titleLabel.setFont(new Font("Arial", Font.BOLD, fontSize));
+        titleLabel.setForeground(Color.WHITE);
+        titlePanel.add(titleLabel, BorderLayout.CENTER);
+        return titlePanel;
+    }
+}
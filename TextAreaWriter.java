@@ -0,0 +1,25 @@
+import javax.swing.*;
+import java.io.Writer;
+
+// Writer that appends to a JTextArea, so chunked exporters such as GanttTextWriter add a whole chunk
+// to the document at a time instead of one small append per item. Must be used on the EDT.
+class TextAreaWriter extends Writer {
+    private final JTextArea textArea;
+
+    TextAreaWriter(JTextArea textArea) {
+        this.textArea = textArea;
+    }
+
+    @Override
+    public void write(char[] chars, int offset, int length) {
+        textArea.append(new String(chars, offset, length));
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,196 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Streams process records from a text trace with one process per line: pid, arrival, burst, priority.
+// A process that does I/O continues the line with pairs of I/O and CPU bursts: pid, arrival, burst,
+// priority, io, burst, io, burst, ... Fields may be separated by commas or whitespace. Blank lines and
+// '#' comments are skipped, and so is one header line before the first record if it names the columns,
+// e.g. "pid,arrival,burst,priority" as WorkloadGenerator writes it; any other text is an error. The file
+// is read through a fixed-size char buffer and parsed in place, so no String is created per line and
+// traces of any length can be replayed.
+final class TextWorkloadReader {
+    private static final int FIELDS_PER_RECORD = 4;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] COLUMNS = {"pid", "arrival", "burst", "priority"};
+    private static final String[] IO_COLUMNS = {"io", "burst"}; // Repeated once per I/O and CPU burst pair
+    private static final int MAX_HEADER_LENGTH = 1024;
+
+    private TextWorkloadReader() {
+    }
+
+    // Loads the whole trace into a workload
+    static Workload read(Path path) throws IOException {
+        Workload.Builder builder = new Workload.Builder();
+        forEachRecord(path, new ProcessRecordConsumer() {
+            @Override
+            public void accept(int processId, int arrivalTime, int burstTime, int priority) {
+                builder.add(processId, arrivalTime, burstTime, priority);
+            }
+
+            @Override
+            public void accept(int processId, int arrivalTime, int priority, int[] bursts, int count) {
+                builder.add(processId, arrivalTime, priority, bursts, count);
+            }
+        });
+        return builder.build();
+    }
+
+    // Passes every record to the consumer in file order and returns the number of records
+    static long forEachRecord(Path path, ProcessRecordConsumer consumer) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return new Parser(path, consumer).parse(reader);
+        }
+    }
+
+    private static final class Parser {
+        private final Path path;
+        private final ProcessRecordConsumer consumer;
+        private int[] fields = new int[FIELDS_PER_RECORD];
+        private int[] bursts = new int[FIELDS_PER_RECORD]; // CPU and I/O bursts of a record with I/O
+        private int fieldCount = 0;
+        private long value = 0;
+        private boolean inToken = false;
+        private boolean hasDigits = false;
+        private boolean negative = false;
+        private boolean inComment = false;
+        private StringBuilder header = null; // Text of the header line while it is being read
+        private boolean headerSeen = false;
+        private long lineNumber = 1;
+        private long records = 0;
+
+        Parser(Path path, ProcessRecordConsumer consumer) {
+            this.path = path;
+            this.consumer = consumer;
+        }
+
+        long parse(Reader reader) throws IOException {
+            char[] buffer = new char[BUFFER_SIZE];
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                for (int i = 0; i < read; i++) {
+                    accept(buffer[i]);
+                }
+            }
+            endLine();
+            return records;
+        }
+
+        private void accept(char c) throws IOException {
+            if (c == '\n') {
+                endLine();
+                lineNumber++;
+            } else if (header != null) {
+                if (header.length() == MAX_HEADER_LENGTH) {
+                    throw error("Header line is too long");
+                }
+                header.append(c);
+            } else if (inComment) {
+                // Ignore everything up to the end of the line
+            } else if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE + 1L) {
+                    throw error("Number out of range");
+                }
+                inToken = true;
+                hasDigits = true;
+            } else if (c == '-' && !inToken) {
+                negative = true;
+                inToken = true;
+            } else if (c == ',' || c == ' ' || c == '\t' || c == '\r') {
+                endToken();
+            } else if (c == '#') {
+                endToken();
+                inComment = true;
+            } else if (Character.isLetter(c) && records == 0 && !headerSeen && fieldCount == 0 && !inToken) {
+                header = new StringBuilder().append(c); // Checked against the column names at the end of the line
+                headerSeen = true;
+            } else {
+                throw error("Unexpected character '" + c + "'");
+            }
+        }
+
+        private void endToken() throws IOException {
+            if (!inToken) {
+                return;
+            }
+            if (!hasDigits) {
+                throw error("Expected a number");
+            }
+            long number = negative ? -value : value;
+            if (number > Integer.MAX_VALUE || number < Integer.MIN_VALUE) {
+                throw error("Number out of range");
+            }
+            if (fieldCount == fields.length) {
+                fields = Arrays.copyOf(fields, fieldCount * 2);
+            }
+            fields[fieldCount++] = (int) number;
+            value = 0;
+            negative = false;
+            inToken = false;
+            hasDigits = false;
+        }
+
+        private void endLine() throws IOException {
+            if (header != null) {
+                checkHeader(header.toString());
+                header = null;
+                return;
+            }
+            endToken();
+            inComment = false;
+            if (fieldCount == 0) {
+                return; // Blank or comment line
+            }
+            if (fieldCount < FIELDS_PER_RECORD || (fieldCount - FIELDS_PER_RECORD) % 2 != 0) {
+                throw error("Expected " + FIELDS_PER_RECORD + " fields (pid, arrival, burst, priority), then pairs of I/O and CPU bursts");
+            }
+            // Only the pid and the priority may be negative, e.g. a CFS nice value
+            if (fields[1] < 0) {
+                throw error("Arrival time must not be negative: " + fields[1]);
+            }
+            for (int i = 2; i < fieldCount; i++) {
+                if (i != 3 && fields[i] < 0) {
+                    String what = i >= FIELDS_PER_RECORD && (i - FIELDS_PER_RECORD) % 2 == 0 ? "I/O time" : "Burst time";
+                    throw error(what + " must not be negative: " + fields[i]);
+                }
+            }
+            if (fieldCount == FIELDS_PER_RECORD) {
+                consumer.accept(fields[0], fields[1], fields[2], fields[3]);
+            } else {
+                // The first CPU burst, then the I/O and CPU pairs after the priority
+                int count = fieldCount - FIELDS_PER_RECORD + 1;
+                if (bursts.length < count) {
+                    bursts = new int[fields.length];
+                }
+                bursts[0] = fields[2];
+                System.arraycopy(fields, FIELDS_PER_RECORD, bursts, 1, count - 1);
+                consumer.accept(fields[0], fields[1], fields[3], bursts, count);
+            }
+            records++;
+            fieldCount = 0;
+        }
+
+        // Accepts the column names, in any case, with the I/O columns repeated after them any number of times
+        private void checkHeader(String line) throws IOException {
+            int comment = line.indexOf('#');
+            String text = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            String[] names = text.split("[,\\s]+");
+            boolean matches = names.length >= COLUMNS.length && (names.length - COLUMNS.length) % IO_COLUMNS.length == 0;
+            for (int i = 0; matches && i < names.length; i++) {
+                String expected = i < COLUMNS.length ? COLUMNS[i] : IO_COLUMNS[(i - COLUMNS.length) % IO_COLUMNS.length];
+                matches = names[i].equalsIgnoreCase(expected);
+            }
+            if (!matches) {
+                throw error("Expected a record or the header line " + String.join(",", COLUMNS) + ", found \"" + text + "\"");
+            }
+        }
+
+        private IOException error(String message) {
+            return new IOException(path + ":" + lineNumber + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+import java.util.Arrays;
+
+// Event queue of (time, value) pairs for the simulation kernel, built as a hierarchical timing wheel:
+// four wheels of 256 slots, one per byte of the 32-bit time. An event goes into the wheel of the
+// highest byte in which its time differs from the wheel's current time, so the lowest wheel only holds
+// events of the next 256 ticks, one exact time per slot. When the lowest wheel runs empty, the first
+// occupied slot of the next wheel up is cascaded down. Every event is cascaded at most three times, so
+// adding and polling are O(1) amortized, against O(log n) for a heap.
+//
+// Occupied slots are bits in a bitmap, so finding the next event is a few numberOfTrailingZeros calls.
+// Events live in a pool of int arrays linked into per-slot FIFO lists; events with the same time come
+// out in the order they were added, and nothing is allocated once the pool has reached its peak size.
+final class TimingWheel {
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 8;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int WORDS_PER_LEVEL = SLOTS / Long.SIZE;
+    private static final int NONE = -1;
+
+    // Slot lists: heads and tails indexed by level * SLOTS + slot
+    private final int[] heads = new int[LEVELS * SLOTS];
+    private final int[] tails = new int[LEVELS * SLOTS];
+    private final long[] occupied = new long[LEVELS * WORDS_PER_LEVEL];
+
+    // Event pool
+    private int[] times = new int[64];
+    private int[] values = new int[64];
+    private int[] next = new int[64];
+    private int freeEvents = NONE; // Head of the list of recycled events
+    private int poolSize = 0;
+
+    private int now = 0; // Never after the earliest event
+    private int size = 0;
+    private int earliest;
+    private boolean earliestKnown = false;
+
+    TimingWheel() {
+        Arrays.fill(heads, NONE);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Adds an event; its time must not be before the time of the last polled event
+    void add(int time, int value) {
+        if (time < now) {
+            throw new IllegalArgumentException("Event time " + time + " is before the current time " + now);
+        }
+        int event = allocate();
+        times[event] = time;
+        values[event] = value;
+        insert(event);
+        size++;
+        if (earliestKnown) {
+            earliest = Math.min(earliest, time);
+        }
+    }
+
+    // Time of the earliest event, or Integer.MAX_VALUE when the wheel is empty. This only looks, it never
+    // cascades, so events can still be added at any time from the last polled event on. An earliest
+    // event in a higher wheel is found by scanning its slot; the result is kept until the next poll.
+    int earliestTime() {
+        if (!earliestKnown) {
+            earliest = findEarliestTime();
+            earliestKnown = true;
+        }
+        return earliest;
+    }
+
+    // Removes the earliest event and returns its value; the wheel must not be empty
+    int poll() {
+        int slot = earliestSlot();
+        int event = heads[slot];
+        heads[slot] = next[event];
+        if (heads[slot] == NONE) {
+            occupied[slot >>> 6] &= ~(1L << slot);
+        }
+        now = times[event];
+        int value = values[event];
+        next[event] = freeEvents;
+        freeEvents = event;
+        size--;
+        earliestKnown = false;
+        return value;
+    }
+
+    private int findEarliestTime() {
+        if (size == 0) {
+            return Integer.MAX_VALUE;
+        }
+        int slot = firstOccupied(0, now & SLOT_MASK);
+        if (slot >= 0) {
+            return times[heads[slot]]; // Every event in a slot of the lowest wheel has the same time
+        }
+        // Events in a higher wheel come after every event in the wheels below it
+        for (int level = 1; level < LEVELS && slot < 0; level++) {
+            int position = ((now >>> (level * SLOT_BITS)) & SLOT_MASK) + 1;
+            slot = position < SLOTS ? firstOccupied(level, position) : -1;
+        }
+        int earliestTime = Integer.MAX_VALUE;
+        for (int event = heads[slot]; event != NONE; event = next[event]) {
+            earliestTime = Math.min(earliestTime, times[event]);
+        }
+        return earliestTime;
+    }
+
+    private void insert(int event) {
+        int time = times[event];
+        int differentBits = time ^ now;
+        int level = differentBits == 0 ? 0 : (31 - Integer.numberOfLeadingZeros(differentBits)) / SLOT_BITS;
+        int slot = level * SLOTS + ((time >>> (level * SLOT_BITS)) & SLOT_MASK);
+        next[event] = NONE;
+        if (heads[slot] == NONE) {
+            heads[slot] = event;
+            occupied[slot >>> 6] |= 1L << slot;
+        } else {
+            next[tails[slot]] = event;
+        }
+        tails[slot] = event;
+    }
+
+    // Slot of the lowest wheel that holds the earliest event, cascading higher wheels down as needed
+    private int earliestSlot() {
+        if (size == 0) {
+            throw new IllegalStateException("No events");
+        }
+        while (true) {
+            // Lowest wheel: events of the current 256 ticks, at or after now
+            int slot = firstOccupied(0, now & SLOT_MASK);
+            if (slot >= 0) {
+                return slot;
+            }
+            // Higher wheels only hold events whose byte at that level is after the current one
+            for (int level = 1; level < LEVELS; level++) {
+                int shift = level * SLOT_BITS;
+                int position = ((now >>> shift) & SLOT_MASK) + 1;
+                slot = position < SLOTS ? firstOccupied(level, position) : -1;
+                if (slot >= 0) {
+                    cascade(level, slot);
+                    break;
+                }
+            }
+        }
+    }
+
+    // Moves the events of a higher-wheel slot down, after advancing now to the start of that slot
+    private void cascade(int level, int slot) {
+        int shift = level * SLOT_BITS;
+        long keptBits = shift + SLOT_BITS >= 32 ? 0 : now & (-1L << (shift + SLOT_BITS));
+        now = (int) (keptBits | ((long) (slot & SLOT_MASK) << shift));
+
+        int event = heads[slot];
+        heads[slot] = NONE;
+        occupied[slot >>> 6] &= ~(1L << slot);
+        while (event != NONE) {
+            int following = next[event];
+            insert(event); // Lands in a lower wheel, keeping the FIFO order
+            event = following;
+        }
+    }
+
+    // First occupied slot of the level at or after position, as an index into heads, or -1
+    private int firstOccupied(int level, int position) {
+        int word = level * WORDS_PER_LEVEL + (position >>> 6);
+        long bits = occupied[word] & (-1L << (position & 63));
+        int lastWord = (level + 1) * WORDS_PER_LEVEL;
+        while (true) {
+            if (bits != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == lastWord) {
+                return -1;
+            }
+            bits = occupied[word];
+        }
+    }
+
+    private int allocate() {
+        if (freeEvents != NONE) {
+            int event = freeEvents;
+            freeEvents = next[event];
+            return event;
+        }
+        if (poolSize == times.length) {
+            int newCapacity = poolSize * 2;
+            times = Arrays.copyOf(times, newCapacity);
+            values = Arrays.copyOf(values, newCapacity);
+            next = Arrays.copyOf(next, newCapacity);
+        }
+        return poolSize++;
+    }
+}
@@ -0,0 +1,262 @@
+import java.util.Arrays;
+import java.util.List;
+
+// Immutable scheduling input. The processes are kept as parallel int arrays in input order,
+// together with the order in which they arrive, so schedulers never need to sort or copy them.
+//
+// A process can alternate CPU and I/O bursts: CPU, I/O, CPU, ..., ending with a CPU burst. The bursts of
+// all processes are packed into one shared array, with burstOffsets[i] the first burst of process i and
+// burstOffsets[i + 1] the end of its bursts, so millions of bursts take no object each. Workloads of pure
+// CPU jobs have no burst arrays at all; burstTimes is then the single burst of every process.
+public final class Workload {
+    final int[] processIds;
+    final int[] arrivalTimes;
+    final int[] burstTimes;   // Total CPU time of every process
+    final int[] priorities;
+
+    // Null when every process is a single CPU burst
+    final int[] burstOffsets;
+    final int[] bursts;
+    final int[] ioTimes;      // Total I/O time of every process
+
+    // Process indices sorted by arrival time, then priority, then input order
+    final int[] arrivalOrder;
+
+    // Takes ownership of the arrays, which must all have the same length
+    Workload(int[] processIds, int[] arrivalTimes, int[] burstTimes, int[] priorities) {
+        this(processIds, arrivalTimes, burstTimes, priorities, null, null);
+    }
+
+    // Also takes ownership of the packed bursts, which may both be null. burstTimes must hold the sum of
+    // the CPU bursts of every process.
+    Workload(int[] processIds, int[] arrivalTimes, int[] burstTimes, int[] priorities, int[] burstOffsets, int[] bursts) {
+        this.processIds = processIds;
+        this.arrivalTimes = arrivalTimes;
+        this.burstTimes = burstTimes;
+        this.priorities = priorities;
+        this.burstOffsets = burstOffsets;
+        this.bursts = bursts;
+        this.ioTimes = bursts == null ? null : sumIoBursts(burstOffsets, bursts);
+        this.arrivalOrder = sortByArrival(arrivalTimes, priorities);
+    }
+
+    public static Workload of(List<Process> processes) {
+        int n = processes.size();
+        int[] processIds = new int[n];
+        int[] arrivalTimes = new int[n];
+        int[] burstTimes = new int[n];
+        int[] priorities = new int[n];
+        for (int i = 0; i < n; i++) {
+            Process process = processes.get(i);
+            processIds[i] = process.processID;
+            arrivalTimes[i] = process.arrivalTime;
+            burstTimes[i] = process.burstTime;
+            priorities[i] = process.priority;
+        }
+        return new Workload(processIds, arrivalTimes, burstTimes, priorities);
+    }
+
+    // Collects processes one at a time into growable int arrays, without a Process object per row.
+    // The packed burst arrays are only started by the first process with I/O bursts.
+    public static final class Builder {
+        private int[] processIds = new int[16];
+        private int[] arrivalTimes = new int[16];
+        private int[] burstTimes = new int[16];
+        private int[] priorities = new int[16];
+        private int size = 0;
+        private int[] burstOffsets;
+        private int[] bursts;
+        private int burstCount = 0;
+
+        public Builder add(int processId, int arrivalTime, int burstTime, int priority) {
+            if (burstOffsets != null) {
+                appendBurst(burstTime);
+            }
+            return addProcess(processId, arrivalTime, burstTime, priority);
+        }
+
+        // Adds a process with the first count values of bursts as its CPU, I/O, CPU, ... bursts. count must
+        // be odd, so the process starts and ends on the CPU.
+        public Builder add(int processId, int arrivalTime, int priority, int[] processBursts, int count) {
+            if (count % 2 == 0) {
+                throw new IllegalArgumentException("Process " + processId + " must start and end with a CPU burst: " + count + " bursts");
+            }
+            if (count == 1) {
+                return add(processId, arrivalTime, processBursts[0], priority);
+            }
+            if (burstOffsets == null) {
+                // First process with I/O: every process before it was a single CPU burst
+                burstOffsets = new int[processIds.length + 1];
+                bursts = new int[Math.max(16, 2 * size + count)];
+                for (int i = 0; i < size; i++) {
+                    burstOffsets[i] = i;
+                    bursts[i] = burstTimes[i];
+                }
+                burstOffsets[size] = size;
+                burstCount = size;
+            }
+            long cpuTime = 0;
+            for (int i = 0; i < count; i++) {
+                appendBurst(processBursts[i]);
+                if (i % 2 == 0) {
+                    cpuTime += processBursts[i];
+                }
+            }
+            if (cpuTime > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Process " + processId + " needs more CPU time than fits an int");
+            }
+            return addProcess(processId, arrivalTime, (int) cpuTime, priority);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public Workload build() {
+            return new Workload(Arrays.copyOf(processIds, size), Arrays.copyOf(arrivalTimes, size),
+                    Arrays.copyOf(burstTimes, size), Arrays.copyOf(priorities, size),
+                    burstOffsets == null ? null : Arrays.copyOf(burstOffsets, size + 1),
+                    burstOffsets == null ? null : Arrays.copyOf(bursts, burstCount));
+        }
+
+        private Builder addProcess(int processId, int arrivalTime, int burstTime, int priority) {
+            if (size == processIds.length) {
+                int newCapacity = size + (size >> 1);
+                processIds = Arrays.copyOf(processIds, newCapacity);
+                arrivalTimes = Arrays.copyOf(arrivalTimes, newCapacity);
+                burstTimes = Arrays.copyOf(burstTimes, newCapacity);
+                priorities = Arrays.copyOf(priorities, newCapacity);
+                if (burstOffsets != null) {
+                    burstOffsets = Arrays.copyOf(burstOffsets, newCapacity + 1);
+                }
+            }
+            processIds[size] = processId;
+            arrivalTimes[size] = arrivalTime;
+            burstTimes[size] = burstTime;
+            priorities[size] = priority;
+            size++;
+            if (burstOffsets != null) {
+                burstOffsets[size] = burstCount;
+            }
+            return this;
+        }
+
+        private void appendBurst(int burst) {
+            if (burstCount == bursts.length) {
+                bursts = Arrays.copyOf(bursts, burstCount + (burstCount >> 1));
+            }
+            bursts[burstCount++] = burst;
+        }
+    }
+
+    public int size() {
+        return processIds.length;
+    }
+
+    public int getProcessId(int index) {
+        return processIds[index];
+    }
+
+    public int getArrivalTime(int index) {
+        return arrivalTimes[index];
+    }
+
+    public int getBurstTime(int index) {
+        return burstTimes[index];
+    }
+
+    public int getPriority(int index) {
+        return priorities[index];
+    }
+
+    // True if any process has I/O bursts
+    public boolean hasIoBursts() {
+        return bursts != null;
+    }
+
+    // Number of CPU and I/O bursts of the process, always odd
+    public int getBurstCount(int index) {
+        return bursts == null ? 1 : burstOffsets[index + 1] - burstOffsets[index];
+    }
+
+    // The k-th burst of the process: CPU bursts at even k, I/O bursts at odd k
+    public int getBurst(int index, int k) {
+        return bursts == null ? burstTimes[index] : bursts[burstOffsets[index] + k];
+    }
+
+    // Total time the process spends in I/O
+    public int getIoTime(int index) {
+        return ioTimes == null ? 0 : ioTimes[index];
+    }
+
+    private static int[] sumIoBursts(int[] burstOffsets, int[] bursts) {
+        int[] ioTimes = new int[burstOffsets.length - 1];
+        for (int i = 0; i < ioTimes.length; i++) {
+            long ioTime = 0;
+            for (int k = burstOffsets[i] + 1; k < burstOffsets[i + 1]; k += 2) {
+                ioTime += bursts[k];
+            }
+            ioTimes[i] = (int) Math.min(ioTime, Integer.MAX_VALUE);
+        }
+        return ioTimes;
+    }
+
+    // Sorts the indices without boxing by packing each key with its index into a long
+    private static int[] sortByArrival(int[] arrivalTimes, int[] priorities) {
+        int n = arrivalTimes.length;
+
+        // Traces are usually recorded in arrival order already, in which case no sort is needed
+        if (isInArrivalOrder(arrivalTimes, priorities)) {
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = pack(arrivalTimes[i], i);
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+
+        // Processes arriving at the same time are ordered by priority, keeping input order on ties
+        int runStart = 0;
+        while (runStart < n) {
+            int runEnd = runStart + 1;
+            while (runEnd < n && arrivalTimes[order[runEnd]] == arrivalTimes[order[runStart]]) {
+                runEnd++;
+            }
+            if (runEnd - runStart > 1) {
+                for (int i = runStart; i < runEnd; i++) {
+                    keys[i] = pack(priorities[order[i]], order[i]);
+                }
+                Arrays.sort(keys, runStart, runEnd);
+                for (int i = runStart; i < runEnd; i++) {
+                    order[i] = (int) keys[i];
+                }
+            }
+            runStart = runEnd;
+        }
+        return order;
+    }
+
+    private static boolean isInArrivalOrder(int[] arrivalTimes, int[] priorities) {
+        for (int i = 1; i < arrivalTimes.length; i++) {
+            if (arrivalTimes[i] < arrivalTimes[i - 1]
+                    || (arrivalTimes[i] == arrivalTimes[i - 1] && priorities[i] < priorities[i - 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long pack(int key, int index) {
+        return ((long) key << 32) | index;
+    }
+}
@@ -0,0 +1,374 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Seeded synthetic workload generator for load testing. Arrivals follow a Poisson process (optionally in
+// batches of simultaneous arrivals), burst times are exponential, Pareto or bimodal, and priorities are
+// drawn from a weighted mix. The same seed and settings always produce the same workload.
+//
+// Processes are generated lazily, one at a time, so huge workloads can be streamed into a scheduler
+// or written to disk without ever being held in memory.
+public final class WorkloadGenerator {
+    public enum BurstDistribution { EXPONENTIAL, PARETO, BIMODAL }
+
+    private final long seed;
+    private double arrivalRate = 0.1;
+    private int batchSize = 1;
+    private BurstDistribution burstDistribution = BurstDistribution.EXPONENTIAL;
+    private double burstMean = 8;
+    private double paretoScale = 2;
+    private double paretoShape = 1.5;
+    private double shortBurstMean = 4;
+    private double longBurstMean = 60;
+    private double longBurstFraction = 0.1;
+    private double[] priorityCumulativeWeights = {1};
+
+    public WorkloadGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    // Average number of arrivals per tick; inter-arrival gaps are exponential with mean 1 / rate
+    public WorkloadGenerator arrivalRate(double processesPerTick) {
+        if (!(processesPerTick > 0)) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + processesPerTick);
+        }
+        this.arrivalRate = processesPerTick;
+        return this;
+    }
+
+    // Processes arrive in groups of this size sharing one arrival time; the groups arrive as a Poisson process
+    public WorkloadGenerator batchSize(int processesPerBatch) {
+        if (processesPerBatch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + processesPerBatch);
+        }
+        this.batchSize = processesPerBatch;
+        return this;
+    }
+
+    public WorkloadGenerator exponentialBursts(double mean) {
+        if (!(mean >= 1)) {
+            throw new IllegalArgumentException("Mean burst time must be at least 1: " + mean);
+        }
+        this.burstDistribution = BurstDistribution.EXPONENTIAL;
+        this.burstMean = mean;
+        return this;
+    }
+
+    // Heavy-tailed bursts of at least scale ticks; the smaller the shape, the heavier the tail
+    public WorkloadGenerator paretoBursts(double scale, double shape) {
+        if (!(scale >= 1) || !(shape > 1)) {
+            throw new IllegalArgumentException("Pareto bursts need scale >= 1 and shape > 1");
+        }
+        this.burstDistribution = BurstDistribution.PARETO;
+        this.paretoScale = scale;
+        this.paretoShape = shape;
+        return this;
+    }
+
+    // Mix of short interactive and long batch jobs, each exponential around its own mean
+    public WorkloadGenerator bimodalBursts(double shortMean, double longMean, double longFraction) {
+        if (!(shortMean >= 1) || !(longMean >= 1) || !(longFraction >= 0 && longFraction <= 1)) {
+            throw new IllegalArgumentException("Bimodal bursts need means >= 1 and a long fraction in [0, 1]");
+        }
+        this.burstDistribution = BurstDistribution.BIMODAL;
+        this.shortBurstMean = shortMean;
+        this.longBurstMean = longMean;
+        this.longBurstFraction = longFraction;
+        return this;
+    }
+
+    // Relative weights of priorities 0, 1, 2, ...; e.g. (1, 3, 6) makes 10% of processes priority 0
+    public WorkloadGenerator priorityMix(double... weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("At least one priority weight is needed");
+        }
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            if (!(weights[i] >= 0)) {
+                throw new IllegalArgumentException("Priority weights must not be negative");
+            }
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("Priority weights must not all be zero");
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        this.priorityCumulativeWeights = cumulative;
+        return this;
+    }
+
+    // Expected burst time of the configured distribution, e.g. to pick an arrival rate for a target load
+    public double getMeanBurst() {
+        switch (burstDistribution) {
+            case PARETO:
+                return paretoShape * paretoScale / (paretoShape - 1);
+            case BIMODAL:
+                return (1 - longBurstFraction) * shortBurstMean + longBurstFraction * longBurstMean;
+            default:
+                return burstMean;
+        }
+    }
+
+    // Arrival rate that keeps a single CPU busy for the given fraction of the time
+    public WorkloadGenerator utilization(double targetUtilization) {
+        return arrivalRate(targetUtilization / getMeanBurst());
+    }
+
+    // Passes count generated processes to the consumer without creating Process objects
+    public void generate(long count, ProcessRecordConsumer consumer) throws IOException {
+        Cursor cursor = new Cursor();
+        for (long i = 0; i < count; i++) {
+            cursor.next();
+            consumer.accept(cursor.processId, cursor.arrivalTime, cursor.burstTime, cursor.priority);
+        }
+    }
+
+    // Lazily generated, ordered stream of count processes
+    public Stream<Process> stream(long count) {
+        Cursor cursor = new Cursor();
+        Spliterator<Process> spliterator = new Spliterators.AbstractSpliterator<Process>(count,
+                Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE) {
+            private long remaining = count;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Process> action) {
+                if (remaining == 0) {
+                    return false;
+                }
+                remaining--;
+                cursor.next();
+                action.accept(new Process(cursor.processId, cursor.arrivalTime, cursor.burstTime, cursor.priority));
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false);
+    }
+
+    public Workload toWorkload(int count) {
+        Workload.Builder builder = new Workload.Builder();
+        Cursor cursor = new Cursor();
+        for (int i = 0; i < count; i++) {
+            cursor.next();
+            builder.add(cursor.processId, cursor.arrivalTime, cursor.burstTime, cursor.priority);
+        }
+        return builder.build();
+    }
+
+    // Writes count processes as CSV with a header line, streaming them to a temporary file next to path
+    // that only replaces path once every process is written, so a failed run leaves no truncated file
+    public void writeCsv(Path path, long count) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            writeCsvTo(temporary, count);
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void writeCsvTo(Path path, long count) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("pid,arrival,burst,priority\n");
+            generate(count, (processId, arrivalTime, burstTime, priority) -> {
+                writer.write(Integer.toString(processId));
+                writer.write(',');
+                writer.write(Integer.toString(arrivalTime));
+                writer.write(',');
+                writer.write(Integer.toString(burstTime));
+                writer.write(',');
+                writer.write(Integer.toString(priority));
+                writer.write('\n');
+            });
+        }
+    }
+
+    // Generation state for one pass over the workload; every pass restarts from the seed
+    private final class Cursor {
+        private final SplittableRandom random = new SplittableRandom(seed);
+        private double clock = 0;
+        private int positionInBatch = 0;
+        private int nextProcessId = 0;
+
+        int processId;
+        int arrivalTime;
+        int burstTime;
+        int priority;
+
+        void next() {
+            if (positionInBatch == 0) {
+                clock += exponential(1 / (arrivalRate / batchSize));
+            }
+            positionInBatch = (positionInBatch + 1) % batchSize;
+
+            // Times are rounded to the nearest tick, so bursts average getMeanBurst() rather than half a
+            // tick less. A burst from far in the Pareto tail is capped at the int range, but arrival times
+            // past it are an error: capping them would pile every later process onto one tick.
+            processId = nextProcessId++;
+            long arrival = Math.round(clock);
+            if (arrival > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Arrival times pass " + Integer.MAX_VALUE + " after " + processId
+                        + " processes; raise the arrival rate or generate fewer processes");
+            }
+            arrivalTime = (int) arrival;
+            burstTime = (int) Math.min(Math.max(1, Math.round(nextBurst())), Integer.MAX_VALUE);
+            priority = nextPriority();
+        }
+
+        private double nextBurst() {
+            switch (burstDistribution) {
+                case PARETO:
+                    return paretoScale / Math.pow(1 - random.nextDouble(), 1 / paretoShape);
+                case BIMODAL:
+                    return exponential(random.nextDouble() < longBurstFraction ? longBurstMean : shortBurstMean);
+                default:
+                    return exponential(burstMean);
+            }
+        }
+
+        private int nextPriority() {
+            double u = random.nextDouble();
+            for (int i = 0; i < priorityCumulativeWeights.length - 1; i++) {
+                if (u < priorityCumulativeWeights[i]) {
+                    return i;
+                }
+            }
+            return priorityCumulativeWeights.length - 1;
+        }
+
+        private double exponential(double mean) {
+            return -mean * Math.log(1 - random.nextDouble());
+        }
+    }
+
+    // Usage: java WorkloadGenerator --count N --out FILE [--seed S] [--utilization U | --rate R] [--batch K]
+    //        [--bursts exponential:MEAN | pareto:SCALE:SHAPE | bimodal:SHORT:LONG:FRACTION]
+    //        [--priorities W0,W1,...] [--binary]
+    public static void main(String[] args) throws IOException {
+        long count = -1;
+        long seed = 1;
+        String out = null;
+        String bursts = "exponential:8";
+        String priorities = "1";
+        double utilization = 0.9;
+        double rate = -1;
+        int batch = 1;
+        boolean binary = false;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--count":
+                        count = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--seed":
+                        seed = Long.parseLong(value(args, ++i));
+                        break;
+                    case "--out":
+                        out = value(args, ++i);
+                        break;
+                    case "--bursts":
+                        bursts = value(args, ++i);
+                        break;
+                    case "--priorities":
+                        priorities = value(args, ++i);
+                        break;
+                    case "--utilization":
+                        utilization = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--rate":
+                        rate = Double.parseDouble(value(args, ++i));
+                        break;
+                    case "--batch":
+                        batch = Integer.parseInt(value(args, ++i));
+                        break;
+                    case "--binary":
+                        binary = true;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+                }
+            }
+            if (count < 0 || out == null) {
+                throw new IllegalArgumentException("--count and --out are required");
+            }
+
+            WorkloadGenerator generator = new WorkloadGenerator(seed).batchSize(batch);
+            String[] burstSpec = bursts.split(":");
+            switch (burstSpec[0]) {
+                case "exponential":
+                    generator.exponentialBursts(Double.parseDouble(burstSpec[1]));
+                    break;
+                case "pareto":
+                    generator.paretoBursts(Double.parseDouble(burstSpec[1]), Double.parseDouble(burstSpec[2]));
+                    break;
+                case "bimodal":
+                    generator.bimodalBursts(Double.parseDouble(burstSpec[1]), Double.parseDouble(burstSpec[2]),
+                            Double.parseDouble(burstSpec[3]));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown burst distribution: " + burstSpec[0]);
+            }
+            String[] weightSpec = priorities.split(",");
+            double[] weights = new double[weightSpec.length];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = Double.parseDouble(weightSpec[i]);
+            }
+            generator.priorityMix(weights);
+            if (rate > 0) {
+                generator.arrivalRate(rate);
+            } else {
+                generator.utilization(utilization);
+            }
+
+            long start = System.nanoTime();
+            Path path = Paths.get(out);
+            if (binary) {
+                BinaryWorkloadFile.write(generator, count, path);
+            } else {
+                generator.writeCsv(path, count);
+            }
+            System.out.printf("Wrote %d processes to %s in %.1f ms%n", count, out, (System.nanoTime() - start) / 1e6);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Error: " + e.getMessage());
+            printUsage(System.err);
+            System.exit(2);
+        } catch (IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    private static String value(String[] args, int index) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + args[index - 1]);
+        }
+        return args[index];
+    }
+
+    private static void printUsage(PrintStream out) {
+        out.println("Usage: java WorkloadGenerator --count N --out FILE [options]");
+        out.println("  --seed S                  random seed (default 1)");
+        out.println("  --utilization U           target CPU utilization, sets the arrival rate (default 0.9)");
+        out.println("  --rate R                  arrivals per tick, overrides --utilization");
+        out.println("  --batch K                 processes arriving together in each Poisson arrival (default 1)");
+        out.println("  --bursts SPEC             exponential:MEAN, pareto:SCALE:SHAPE or bimodal:SHORT:LONG:FRACTION");
+        out.println("  --priorities W0,W1,...    relative weights of priorities 0, 1, ... (default 1)");
+        out.println("  --binary                  write the binary workload format instead of CSV");
+    }
+}